@@ -0,0 +1,11 @@
+package com.eventmanager.cache;
+
+/**
+ * A key to drop from near-caches. A {@code null} key clears the whole cache.
+ */
+public record CacheInvalidation(String cacheName, String key, String originNodeId) {
+    
+    public boolean clearsAll() {
+        return key == null;
+    }
+}
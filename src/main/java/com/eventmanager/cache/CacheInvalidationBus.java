@@ -0,0 +1,17 @@
+package com.eventmanager.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Pub/sub channel that tells every node to drop its near-cache copy of a key.
+ * Delivery is asynchronous and at-most-once; the near-cache TTL bounds staleness
+ * if a message is lost.
+ */
+public interface CacheInvalidationBus {
+    
+    void publish(CacheInvalidation invalidation);
+    
+    void subscribe(Consumer<CacheInvalidation> listener);
+    
+    void unsubscribe(Consumer<CacheInvalidation> listener);
+}
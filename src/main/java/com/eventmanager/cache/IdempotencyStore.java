@@ -0,0 +1,140 @@
+package com.eventmanager.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers responses to requests carrying an {@code Idempotency-Key}. A key is
+ * either in flight (one request is executing it, duplicates wait on its future)
+ * or completed (duplicates get the stored response until it expires). Each key
+ * also remembers a fingerprint of its request, so it can't be reused for a
+ * different one.
+ */
+@Component
+public class IdempotencyStore {
+    
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final LinkedHashMap<String, Completed> completed = new LinkedHashMap<>();
+    
+    @Value("${idempotency.max-entries:10000}")
+    private int maxEntries;
+    
+    @Value("${idempotency.ttl:86400000}") // 24 hours
+    private long ttl;
+    
+    /**
+     * Returns {@code null} if the caller now owns the key and must execute the
+     * request, otherwise a future for the response of the request that owns it.
+     *
+     * @throws KeyReusedException if the key belongs to a request with another fingerprint
+     */
+    public CompletableFuture<StoredResponse> begin(String key, String fingerprint) {
+        StoredResponse stored = getCompleted(key, fingerprint);
+        if (stored != null) {
+            return CompletableFuture.completedFuture(stored);
+        }
+        InFlight mine = new InFlight(fingerprint, new CompletableFuture<>());
+        InFlight existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            checkFingerprint(existing.fingerprint(), fingerprint);
+            return existing.future();
+        }
+        // The owner may have finished between the completed lookup and claiming the key
+        try {
+            stored = getCompleted(key, fingerprint);
+        } catch (KeyReusedException e) {
+            inFlight.remove(key, mine);
+            throw e;
+        }
+        if (stored != null) {
+            inFlight.remove(key, mine);
+            mine.future().complete(stored);
+            return mine.future();
+        }
+        return null;
+    }
+    
+    public void complete(String key, StoredResponse response) {
+        InFlight owner = inFlight.get(key);
+        synchronized (completed) {
+            completed.put(key, new Completed(response, owner == null ? null : owner.fingerprint(),
+                    System.currentTimeMillis() + ttl));
+            if (completed.size() > maxEntries) {
+                Iterator<String> eldest = completed.keySet().iterator();
+                eldest.next();
+                eldest.remove();
+            }
+        }
+        InFlight released = inFlight.remove(key);
+        if (released != null) {
+            released.future().complete(response);
+        }
+    }
+    
+    /**
+     * Releases a key whose request failed, so a retry executes again. Waiting
+     * duplicates are released with {@code null} and compete to claim it again.
+     */
+    public void abandon(String key) {
+        InFlight released = inFlight.remove(key);
+        if (released != null) {
+            released.future().complete(null);
+        }
+    }
+    
+    @Scheduled(fixedRateString = "${idempotency.cleanup-interval:60000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        synchronized (completed) {
+            // Insertion order is expiry order, so stop at the first live entry
+            Iterator<Completed> entries = completed.values().iterator();
+            while (entries.hasNext() && entries.next().expiresAt() < now) {
+                entries.remove();
+            }
+        }
+    }
+    
+    private StoredResponse getCompleted(String key, String fingerprint) {
+        synchronized (completed) {
+            Completed entry = completed.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt() < System.currentTimeMillis()) {
+                completed.remove(key);
+                return null;
+            }
+            checkFingerprint(entry.fingerprint(), fingerprint);
+            return entry.response();
+        }
+    }
+    
+    private static void checkFingerprint(String expected, String actual) {
+        if (expected != null && !expected.equals(actual)) {
+            throw new KeyReusedException();
+        }
+    }
+    
+    public record StoredResponse(int status, String contentType, byte[] body) {
+    }
+    
+    public static class KeyReusedException extends RuntimeException {
+        
+        public KeyReusedException() {
+            super("Idempotency key was already used for a different request");
+        }
+    }
+    
+    private record InFlight(String fingerprint, CompletableFuture<StoredResponse> future) {
+    }
+    
+    private record Completed(StoredResponse response, String fingerprint, long expiresAt) {
+    }
+}
@@ -0,0 +1,42 @@
+package com.eventmanager.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * JVM-wide stand-in for the invalidation channel. Messages are delivered on a
+ * separate thread, like they would arrive from a broker.
+ */
+public class InMemoryCacheInvalidationBus implements CacheInvalidationBus {
+    
+    private static final InMemoryCacheInvalidationBus SHARED = new InMemoryCacheInvalidationBus();
+    
+    private final List<Consumer<CacheInvalidation>> listeners = new CopyOnWriteArrayList<>();
+    private final ExecutorService delivery = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "cache-invalidation-bus");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    public static InMemoryCacheInvalidationBus shared() {
+        return SHARED;
+    }
+    
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        delivery.execute(() -> listeners.forEach(listener -> listener.accept(invalidation)));
+    }
+    
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> listener) {
+        listeners.add(listener);
+    }
+    
+    @Override
+    public void unsubscribe(Consumer<CacheInvalidation> listener) {
+        listeners.remove(listener);
+    }
+}
@@ -0,0 +1,51 @@
+package com.eventmanager.cache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JVM-wide stand-in for the shared cache tier. Every application context in the
+ * JVM sees the same instance, which lets tests run several "nodes" side by side.
+ */
+public class InMemorySharedCacheStore implements SharedCacheStore {
+    
+    private static final InMemorySharedCacheStore SHARED = new InMemorySharedCacheStore();
+    
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    
+    public static InMemorySharedCacheStore shared() {
+        return SHARED;
+    }
+    
+    @Override
+    public Object get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt() < System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value();
+    }
+    
+    @Override
+    public void put(String key, Object value, Duration ttl) {
+        entries.put(key, new Entry(value, System.currentTimeMillis() + ttl.toMillis()));
+    }
+    
+    @Override
+    public void evict(String key) {
+        entries.remove(key);
+    }
+    
+    @Override
+    public void evictByPrefix(String prefix) {
+        entries.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+    
+    private record Entry(Object value, long expiresAt) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.eventmanager.cache;
+
+import java.time.Duration;
+
+/**
+ * The cluster-wide tier of {@link TwoTierCache}. Production deployments back this
+ * with an external store; {@link InMemorySharedCacheStore} stands in for it in a single JVM.
+ */
+public interface SharedCacheStore {
+    
+    Object get(String key);
+    
+    void put(String key, Object value, Duration ttl);
+    
+    void evict(String key);
+    
+    void evictByPrefix(String prefix);
+}
@@ -0,0 +1,138 @@
+package com.eventmanager.cache;
+
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A node-local near-cache in front of a {@link SharedCacheStore}. Writes go to both
+ * tiers; evictions are applied locally, in the shared tier, and broadcast so the
+ * other nodes drop their near-cache copy.
+ */
+public class TwoTierCache extends AbstractValueAdaptingCache {
+    
+    private static final int LOAD_LOCK_STRIPES = 64;
+    
+    private final String name;
+    private final String nodeId;
+    private final SharedCacheStore sharedStore;
+    private final CacheInvalidationBus invalidationBus;
+    private final Duration localTtl;
+    private final Duration sharedTtl;
+    private final Map<String, LocalEntry> local = new ConcurrentHashMap<>();
+    // Loads of one key are serialized; loads of keys on different stripes run in parallel
+    private final Object[] loadLocks = new Object[LOAD_LOCK_STRIPES];
+    
+    public TwoTierCache(String name, String nodeId, SharedCacheStore sharedStore,
+                        CacheInvalidationBus invalidationBus, Duration localTtl, Duration sharedTtl) {
+        super(false);
+        this.name = name;
+        this.nodeId = nodeId;
+        this.sharedStore = sharedStore;
+        this.invalidationBus = invalidationBus;
+        this.localTtl = localTtl;
+        this.sharedTtl = sharedTtl;
+        for (int i = 0; i < loadLocks.length; i++) {
+            loadLocks[i] = new Object();
+        }
+    }
+    
+    @Override
+    public String getName() {
+        return name;
+    }
+    
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+    
+    @Override
+    protected Object lookup(Object key) {
+        LocalEntry entry = local.get(key.toString());
+        if (entry != null) {
+            if (entry.expiresAt() >= System.currentTimeMillis()) {
+                return entry.value();
+            }
+            local.remove(key.toString(), entry);
+        }
+        
+        Object value = sharedStore.get(sharedKey(key));
+        if (value != null) {
+            putLocal(key, value);
+        }
+        return value;
+    }
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object value = lookup(key);
+        if (value != null) {
+            return (T) value;
+        }
+        synchronized (loadLocks[Math.floorMod(key.toString().hashCode(), loadLocks.length)]) {
+            // Another caller may have loaded it while this one waited
+            value = lookup(key);
+            if (value != null) {
+                return (T) value;
+            }
+            try {
+                T loaded = valueLoader.call();
+                put(key, loaded);
+                return loaded;
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+        }
+    }
+    
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            return;
+        }
+        sharedStore.put(sharedKey(key), value, sharedTtl);
+        putLocal(key, value);
+    }
+    
+    @Override
+    public void evict(Object key) {
+        local.remove(key.toString());
+        sharedStore.evict(sharedKey(key));
+        invalidationBus.publish(new CacheInvalidation(name, key.toString(), nodeId));
+    }
+    
+    @Override
+    public void clear() {
+        local.clear();
+        sharedStore.evictByPrefix(name + "::");
+        invalidationBus.publish(new CacheInvalidation(name, null, nodeId));
+    }
+    
+    void onInvalidation(CacheInvalidation invalidation) {
+        if (invalidation.clearsAll()) {
+            local.clear();
+        } else {
+            local.remove(invalidation.key());
+        }
+    }
+    
+    boolean isCachedLocally(Object key) {
+        return local.containsKey(key.toString());
+    }
+    
+    private void putLocal(Object key, Object value) {
+        local.put(key.toString(), new LocalEntry(value, System.currentTimeMillis() + localTtl.toMillis()));
+    }
+    
+    private String sharedKey(Object key) {
+        return name + "::" + key;
+    }
+    
+    private record LocalEntry(Object value, long expiresAt) {
+    }
+}
@@ -0,0 +1,67 @@
+package com.eventmanager.cache;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+@Slf4j
+public class TwoTierCacheManager implements CacheManager {
+    
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+    private final SharedCacheStore sharedStore;
+    private final CacheInvalidationBus invalidationBus;
+    private final Duration localTtl;
+    private final Duration sharedTtl;
+    private final Consumer<CacheInvalidation> listener = this::onInvalidation;
+    
+    public TwoTierCacheManager(SharedCacheStore sharedStore, CacheInvalidationBus invalidationBus,
+                               Duration localTtl, Duration sharedTtl) {
+        this.sharedStore = sharedStore;
+        this.invalidationBus = invalidationBus;
+        this.localTtl = localTtl;
+        this.sharedTtl = sharedTtl;
+        invalidationBus.subscribe(listener);
+    }
+    
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name,
+                n -> new TwoTierCache(n, nodeId, sharedStore, invalidationBus, localTtl, sharedTtl));
+    }
+    
+    @Override
+    public Collection<String> getCacheNames() {
+        return caches.keySet();
+    }
+    
+    public String getNodeId() {
+        return nodeId;
+    }
+    
+    @PreDestroy
+    public void close() {
+        invalidationBus.unsubscribe(listener);
+    }
+    
+    private void onInvalidation(CacheInvalidation invalidation) {
+        // Our own evictions were already applied locally before publishing
+        if (nodeId.equals(invalidation.originNodeId())) {
+            return;
+        }
+        TwoTierCache cache = caches.get(invalidation.cacheName());
+        if (cache != null) {
+            log.debug("Invalidating {}::{} from node {}", invalidation.cacheName(),
+                    invalidation.clearsAll() ? "*" : invalidation.key(), invalidation.originNodeId());
+            cache.onInvalidation(invalidation);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.eventmanager.config;
+
+import com.eventmanager.util.Bulkhead;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Keeps admin traffic (full listings and moderation scans) from starving user
+ * requests: each class gets its own concurrency limit and its own connection pool.
+ * The limits are semaphores taken on the request thread, not separate executors,
+ * so a queued request holds its Tomcat thread for up to its bulkhead's wait-timeout.
+ */
+@Configuration
+public class BulkheadConfig implements WebMvcConfigurer {
+    
+    private final Bulkhead userBulkhead;
+    private final Bulkhead adminBulkhead;
+    
+    public BulkheadConfig(MeterRegistry meterRegistry,
+                          @Value("${bulkhead.user.max-concurrent:150}") int userMaxConcurrent,
+                          @Value("${bulkhead.user.max-waiting:100}") int userMaxWaiting,
+                          @Value("${bulkhead.user.wait-timeout:500}") long userWaitTimeout,
+                          @Value("${bulkhead.admin.max-concurrent:4}") int adminMaxConcurrent,
+                          @Value("${bulkhead.admin.max-waiting:8}") int adminMaxWaiting,
+                          @Value("${bulkhead.admin.wait-timeout:2000}") long adminWaitTimeout) {
+        this.userBulkhead = new Bulkhead("user", userMaxConcurrent, userMaxWaiting, userWaitTimeout);
+        this.adminBulkhead = new Bulkhead("admin", adminMaxConcurrent, adminMaxWaiting, adminWaitTimeout);
+        userBulkhead.bindTo(meterRegistry);
+        adminBulkhead.bindTo(meterRegistry);
+    }
+    
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new BulkheadInterceptor(userBulkhead, adminBulkhead));
+    }
+    
+    // The usual spring.datasource.hikari.* settings, applied to both pools
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariConfig hikariSettings() {
+        return new HikariConfig();
+    }
+    
+    @Bean
+    public BulkheadRoutingDataSource dataSource(DataSourceProperties properties, MeterRegistry meterRegistry,
+                                                HikariConfig hikariSettings,
+                                                @Value("${bulkhead.user.pool-size:20}") int userPoolSize,
+                                                @Value("${bulkhead.admin.pool-size:4}") int adminPoolSize) {
+        return new BulkheadRoutingDataSource(
+                pool(properties, hikariSettings, meterRegistry, "user", userPoolSize),
+                pool(properties, hikariSettings, meterRegistry, "admin", adminPoolSize));
+    }
+    
+    // Name and size come from the bulkhead, overriding any pool-name or maximum-pool-size set for Hikari
+    private HikariDataSource pool(DataSourceProperties properties, HikariConfig settings, MeterRegistry meterRegistry,
+                                  String name, int size) {
+        HikariDataSource pool = new HikariDataSource();
+        settings.copyStateTo(pool);
+        pool.setJdbcUrl(properties.determineUrl());
+        pool.setUsername(properties.determineUsername());
+        pool.setPassword(properties.determinePassword());
+        pool.setDriverClassName(properties.determineDriverClassName());
+        pool.setPoolName(name);
+        pool.setMaximumPoolSize(size);
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return pool;
+    }
+}
@@ -0,0 +1,102 @@
+package com.eventmanager.config;
+
+import com.eventmanager.util.Bulkhead;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs each controller call inside the bulkhead of its route class: handlers
+ * restricted to {@code hasRole('ADMIN')} in one, everything else in the other.
+ * While the call runs, {@link BulkheadRoutingDataSource} hands out connections
+ * from that class's pool. A request whose bulkhead is full gets 503 right away.
+ */
+@RequiredArgsConstructor
+public class BulkheadInterceptor implements AsyncHandlerInterceptor {
+    
+    public enum Route { USER, ADMIN }
+    
+    private static final String ADMIN_ONLY = "hasRole('ADMIN')";
+    private static final String ACQUIRED_ATTRIBUTE = BulkheadInterceptor.class.getName() + ".acquired";
+    private static final ThreadLocal<Route> CURRENT_ROUTE = new ThreadLocal<>();
+    
+    private final Bulkhead userBulkhead;
+    private final Bulkhead adminBulkhead;
+    private final Map<Method, Route> routes = new ConcurrentHashMap<>();
+    
+    /**
+     * Route class of the request being served on this thread, or null outside of one.
+     */
+    public static Route currentRoute() {
+        return CURRENT_ROUTE.get();
+    }
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Async and error re-dispatches belong to a request that already went through here
+        if (!(handler instanceof HandlerMethod handlerMethod) || request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+        Route route = routes.computeIfAbsent(handlerMethod.getMethod(), method -> routeOf(handlerMethod));
+        Bulkhead bulkhead = route == Route.ADMIN ? adminBulkhead : userBulkhead;
+        if (!acquire(bulkhead)) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            return false;
+        }
+        request.setAttribute(ACQUIRED_ATTRIBUTE, bulkhead);
+        CURRENT_ROUTE.set(route);
+        return true;
+    }
+    
+    // Long-lived responses (SSE) give their slot back once the handler returns
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        release(request);
+    }
+    
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                Object handler, Exception ex) {
+        release(request);
+    }
+    
+    private boolean acquire(Bulkhead bulkhead) {
+        try {
+            return bulkhead.tryAcquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+    
+    private void release(HttpServletRequest request) {
+        CURRENT_ROUTE.remove();
+        Bulkhead bulkhead = (Bulkhead) request.getAttribute(ACQUIRED_ATTRIBUTE);
+        if (bulkhead != null) {
+            request.removeAttribute(ACQUIRED_ATTRIBUTE);
+            bulkhead.release();
+        }
+    }
+    
+    static Route routeOf(HandlerMethod handlerMethod) {
+        PreAuthorize preAuthorize = handlerMethod.getMethodAnnotation(PreAuthorize.class);
+        if (preAuthorize == null) {
+            preAuthorize = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), PreAuthorize.class);
+        }
+        return preAuthorize != null && preAuthorize.value().replace(" ", "").equals(ADMIN_ONLY)
+                ? Route.ADMIN : Route.USER;
+    }
+}
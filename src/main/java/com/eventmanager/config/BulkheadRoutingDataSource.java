@@ -0,0 +1,38 @@
+package com.eventmanager.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.util.Map;
+
+/**
+ * Hands out connections from the pool of the current request's route class.
+ * Work outside of a controller call (authentication, scheduled jobs, startup)
+ * uses the user pool.
+ */
+public class BulkheadRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+    
+    private final HikariDataSource userPool;
+    private final HikariDataSource adminPool;
+    
+    public BulkheadRoutingDataSource(HikariDataSource userPool, HikariDataSource adminPool) {
+        this.userPool = userPool;
+        this.adminPool = adminPool;
+        setTargetDataSources(Map.of(
+                BulkheadInterceptor.Route.USER, userPool,
+                BulkheadInterceptor.Route.ADMIN, adminPool));
+        setDefaultTargetDataSource(userPool);
+        afterPropertiesSet();
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return BulkheadInterceptor.currentRoute();
+    }
+    
+    @Override
+    public void close() {
+        adminPool.close();
+        userPool.close();
+    }
+}
@@ -0,0 +1,52 @@
+package com.eventmanager.config;
+
+import com.eventmanager.cache.CacheInvalidationBus;
+import com.eventmanager.cache.InMemoryCacheInvalidationBus;
+import com.eventmanager.cache.InMemorySharedCacheStore;
+import com.eventmanager.cache.SharedCacheStore;
+import com.eventmanager.cache.TwoTierCacheManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    
+    public static final String ACTIVE_EVENTS = "activeEvents";
+    public static final String USERS = "users";
+    
+    // In-JVM stand-ins; replace these two beans to point at a real shared store and broker
+    @Bean
+    public SharedCacheStore sharedCacheStore() {
+        return InMemorySharedCacheStore.shared();
+    }
+    
+    @Bean
+    public CacheInvalidationBus cacheInvalidationBus() {
+        return InMemoryCacheInvalidationBus.shared();
+    }
+    
+    @Bean
+    public TwoTierCacheManager twoTierCacheManager(SharedCacheStore sharedCacheStore,
+                                                   CacheInvalidationBus cacheInvalidationBus,
+                                                   @Value("${cache.local-ttl:30000}") long localTtl,
+                                                   @Value("${cache.shared-ttl:600000}") long sharedTtl) {
+        return new TwoTierCacheManager(sharedCacheStore, cacheInvalidationBus,
+                Duration.ofMillis(localTtl), Duration.ofMillis(sharedTtl));
+    }
+    
+    // Puts and evictions made inside a transaction wait for its commit; evicting earlier lets a
+    // concurrent read put the pre-commit rows back into the shared tier for cache.shared-ttl
+    @Bean
+    @Primary
+    public CacheManager cacheManager(TwoTierCacheManager twoTierCacheManager) {
+        return new TransactionAwareCacheManagerProxy(twoTierCacheManager);
+    }
+}
@@ -1,15 +1,22 @@
 package com.eventmanager.config;
 
+import com.eventmanager.jfr.AuthenticationEvent;
+import com.eventmanager.jfr.JfrRequestFilter;
+import com.eventmanager.service.TokenRevocationList;
 import com.eventmanager.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -21,34 +28,70 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
     private final JwtUtil jwtUtil;
-    private final UserDetailsService userDetailsService;
+    private final TokenRevocationList revocationList;
     
+    /**
+     * Authenticates from the token's own claims: a valid, unrevoked access token is
+     * enough, so no user lookup happens per request. Deleting or renaming a user
+     * revokes their tokens instead.
+     */
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
                                   FilterChain filterChain) throws ServletException, IOException {
         
         final String authHeader = request.getHeader("Authorization");
-        final String jwt;
-        final String username;
         
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
             return;
         }
         
-        jwt = authHeader.substring(7);
-        username = jwtUtil.extractUsername(jwt);
+        AuthenticationEvent event = new AuthenticationEvent();
+        event.begin();
+        String jwt = authHeader.substring(7);
         
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-            
-            if (jwtUtil.validateToken(jwt, userDetails)) {
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            Claims claims = parse(jwt);
+            String role = claims == null ? null : claims.get(JwtUtil.ROLE_CLAIM, String.class);
+            // Tokens from before refresh tokens carry no id or role and are no longer accepted
+            if (claims != null && claims.getId() != null && role != null
+                    && !revocationList.isRevoked(claims.getId(), claims.getSubject(),
+                                                 claims.getIssuedAt(), claims.getExpiration())) {
+                UserDetails userDetails = User.withUsername(claims.getSubject())
+                        .password("")
+                        .roles(role)
+                        .build();
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                     userDetails, null, userDetails.getAuthorities());
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
             }
         }
+        recordAuthentication(event, request);
         filterChain.doFilter(request, response);
     }
+    
+    // Expired and forged tokens leave the request unauthenticated
+    private Claims parse(String jwt) {
+        try {
+            return jwtUtil.extractAllClaims(jwt);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+    
+    private void recordAuthentication(AuthenticationEvent event, HttpServletRequest request) {
+        event.end();
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null) {
+            request.setAttribute(JfrRequestFilter.ROLE_ATTRIBUTE, authentication.getAuthorities().stream()
+                    .findFirst().map(GrantedAuthority::getAuthority).orElse(null));
+        }
+        if (event.shouldCommit()) {
+            event.endpoint = request.getMethod() + " " + request.getRequestURI();
+            event.authenticated = authentication != null;
+            event.role = (String) request.getAttribute(JfrRequestFilter.ROLE_ATTRIBUTE);
+            event.commit();
+        }
+    }
 }
\ No newline at end of file
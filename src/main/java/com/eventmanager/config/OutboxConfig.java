@@ -0,0 +1,21 @@
+package com.eventmanager.config;
+
+import com.eventmanager.outbox.FileOutboxSink;
+import com.eventmanager.outbox.OutboxSink;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+@Configuration
+public class OutboxConfig {
+    
+    // Local stand-in; replace this bean to publish to a real broker
+    @Bean
+    public OutboxSink outboxSink(ObjectMapper objectMapper,
+                                 @Value("${outbox.file:outbox/application-events.jsonl}") String file) {
+        return new FileOutboxSink(Path.of(file), objectMapper);
+    }
+}
@@ -0,0 +1,62 @@
+package com.eventmanager.config;
+
+import com.eventmanager.dto.RowStream;
+import com.eventmanager.util.JsonRowWriter;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/**
+ * Renders {@link RowStream} bodies in whichever of JSON, CBOR or Smile the
+ * client negotiated, with the same date conventions as the regular converters.
+ */
+public class RowStreamHttpMessageConverter extends AbstractHttpMessageConverter<RowStream> {
+    
+    public static final MediaType APPLICATION_SMILE = MediaType.valueOf("application/x-jackson-smile");
+    
+    private final JsonFactory jsonFactory;
+    private final JsonFactory cborFactory = new CBORFactory();
+    private final JsonFactory smileFactory = new SmileFactory();
+    
+    public RowStreamHttpMessageConverter(JsonFactory jsonFactory) {
+        super(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, APPLICATION_SMILE);
+        this.jsonFactory = jsonFactory;
+    }
+    
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return RowStream.class.isAssignableFrom(clazz);
+    }
+    
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+    
+    @Override
+    protected RowStream readInternal(Class<? extends RowStream> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Row streams are write-only", inputMessage);
+    }
+    
+    @Override
+    protected void writeInternal(RowStream rows, HttpOutputMessage outputMessage) throws IOException {
+        MediaType contentType = outputMessage.getHeaders().getContentType();
+        boolean json = contentType == null || MediaType.APPLICATION_JSON.isCompatibleWith(contentType);
+        JsonFactory factory = json ? jsonFactory
+                : MediaType.APPLICATION_CBOR.isCompatibleWith(contentType) ? cborFactory : smileFactory;
+        
+        try (JsonGenerator generator = factory.createGenerator(outputMessage.getBody())) {
+            // The servlet container owns the response stream
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            rows.writeTo(new JsonRowWriter(generator, !json));
+        }
+    }
+}
@@ -1,10 +1,15 @@
 package com.eventmanager.config;
 
+import com.eventmanager.cache.IdempotencyStore;
 import com.eventmanager.entity.User;
 import com.eventmanager.repository.UserRepository;
+import com.eventmanager.service.TokenRevocationList;
 import com.eventmanager.util.JwtUtil;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -21,6 +26,9 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.util.concurrent.CompletableFuture;
+
+@Slf4j
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
@@ -29,6 +37,7 @@ public class SecurityConfig {
     
     private final UserRepository userRepository;
     private final JwtUtil jwtUtil;
+    private final TokenRevocationList tokenRevocationList;
     
     @Bean
     public PasswordEncoder passwordEncoder() {
@@ -61,31 +70,49 @@ public class SecurityConfig {
     
     @Bean
     public JwtAuthenticationFilter jwtAuthenticationFilter() {
-        return new JwtAuthenticationFilter(jwtUtil, userDetailsService());
+        return new JwtAuthenticationFilter(jwtUtil, tokenRevocationList);
+    }
+    
+    @Bean
+    public IdempotencyFilter idempotencyFilter(IdempotencyStore idempotencyStore,
+                                               @Value("${idempotency.wait-timeout:1000}") long waitTimeout) {
+        return new IdempotencyFilter(idempotencyStore, waitTimeout);
     }
     
+    // Runs inside the security chain, after authentication; keep it out of the servlet filter chain
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilterRegistration(IdempotencyFilter filter) {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+    
+    @Bean
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, IdempotencyFilter idempotencyFilter) throws Exception {
         http
             .csrf(csrf -> csrf.disable())
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(authz -> authz
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/api/events/available").permitAll()
+                .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 .requestMatchers("/api/users/**").hasRole("ADMIN")
                 .requestMatchers("/api/events/**").authenticated()
                 .requestMatchers("/api/applications/**").authenticated()
                 .anyRequest().authenticated()
             )
             .authenticationProvider(authenticationProvider())
-            .addFilterBefore(jwtAuthenticationFilter(), UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtAuthenticationFilter(), UsernamePasswordAuthenticationFilter.class)
+            .addFilterAfter(idempotencyFilter, JwtAuthenticationFilter.class);
         
         return http.build();
     }
     
     @Bean
-    public CommandLineRunner initAdminUser(PasswordEncoder passwordEncoder) {
-        return args -> {
+    public CommandLineRunner initAdminUser(PasswordEncoder passwordEncoder,
+                                           @Value("${app.init-admin-async:false}") boolean async) {
+        Runnable init = () -> {
             if (userRepository.findByUsername("admin").isEmpty()) {
                 User admin = User.builder()
                         .username("admin")
@@ -94,7 +121,18 @@ public class SecurityConfig {
                         .role(User.UserRole.ADMIN)
                         .build();
                 userRepository.save(admin);
-                System.out.println("✅ Admin user created: admin/admin123");
+                log.info("Admin user created: admin/admin123");
+            }
+        };
+        // Off the startup path, the admin account may appear a moment after the app is ready
+        return args -> {
+            if (async) {
+                CompletableFuture.runAsync(init).exceptionally(e -> {
+                    log.error("Admin user initialization failed", e);
+                    return null;
+                });
+            } else {
+                init.run();
             }
         };
     }
@@ -0,0 +1,90 @@
+package com.eventmanager.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Startup tuning shared by all profiles: which beans must stay eager when lazy
+ * initialization is on, and a measurement of startup-to-first-request time.
+ */
+@Slf4j
+@Configuration
+public class StartupConfig {
+    
+    private volatile long readyAtNanos;
+    private volatile Duration timeToReady;
+    private volatile Duration timeToFirstRequest;
+    
+    /**
+     * The first request needs these anyway; building them up front keeps their
+     * cost out of that request's latency.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter requestPathBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                DataSource.class, EntityManagerFactory.class, SecurityFilterChain.class);
+    }
+    
+    @Bean
+    public FirstRequestFilter firstRequestFilter() {
+        return new FirstRequestFilter();
+    }
+    
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) {
+        readyAtNanos = System.nanoTime();
+        timeToReady = event.getTimeTaken();
+        log.info("Application ready in {} ms", timeToReady.toMillis());
+    }
+    
+    public Duration getTimeToReady() {
+        return timeToReady;
+    }
+    
+    public Duration getTimeToFirstRequest() {
+        return timeToFirstRequest;
+    }
+    
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    class FirstRequestFilter extends OncePerRequestFilter {
+        
+        private final AtomicBoolean seen = new AtomicBoolean();
+        
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                        FilterChain filterChain) throws ServletException, IOException {
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                if (timeToReady != null && seen.compareAndSet(false, true)) {
+                    timeToFirstRequest = timeToReady.plusNanos(System.nanoTime() - readyAtNanos);
+                    log.info("First request {} {} completed {} ms after startup began",
+                            request.getMethod(), request.getRequestURI(), timeToFirstRequest.toMillis());
+                }
+            }
+        }
+        
+        @Override
+        protected boolean shouldNotFilter(HttpServletRequest request) {
+            return seen.get();
+        }
+    }
+}
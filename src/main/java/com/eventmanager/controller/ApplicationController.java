@@ -1,12 +1,14 @@
 package com.eventmanager.controller;
 
 import com.eventmanager.dto.ApplicationDTO;
-import com.eventmanager.entity.Application.ApplicationStatus;
+import com.eventmanager.dto.RowStream;
 import com.eventmanager.service.ApplicationService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -25,16 +27,41 @@ public class ApplicationController {
     
     @GetMapping("/my-applications")
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
-    public ResponseEntity<List<ApplicationDTO.Response>> getUserApplications() {
+    public ResponseEntity<RowStream> getUserApplications() {
         return ResponseEntity.ok(applicationService.getUserApplications());
     }
     
+    @PutMapping("/{id}/withdraw")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<ApplicationDTO.StatusResponse> withdrawApplication(@PathVariable Long id) {
+        return ResponseEntity.ok(applicationService.withdrawApplication(id));
+    }
+    
+    @GetMapping("/{id}/waitlist-position")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<ApplicationDTO.WaitlistPosition> getWaitlistPosition(@PathVariable Long id) {
+        return ResponseEntity.ok(applicationService.getWaitlistPosition(id));
+    }
+    
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public SseEmitter streamStatusUpdates() {
+        return applicationService.subscribeToStatusUpdates();
+    }
+    
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<ApplicationDTO.Response>> getAllApplications(
-            @RequestParam(required = false) Long eventId,
-            @RequestParam(required = false) ApplicationStatus status) {
-        return ResponseEntity.ok(applicationService.getFilteredApplications(eventId, status));
+            @ModelAttribute ApplicationDTO.FilterRequest filter) {
+        ApplicationDTO.PageResponse page = applicationService.getFilteredApplications(filter);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header("X-Next-Cursor", page.getNextCursor().toString());
+        }
+        if (page.getTotalCount() != null) {
+            response.header("X-Total-Count", page.getTotalCount().toString());
+        }
+        return response.body(page.getContent());
     }
     
     @PutMapping("/{id}/approve")
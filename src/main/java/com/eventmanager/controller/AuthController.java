@@ -4,6 +4,7 @@ import com.eventmanager.dto.AuthDTO;
 import com.eventmanager.service.AuthService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -23,4 +24,18 @@ public class AuthController {
     public ResponseEntity<AuthDTO.AuthResponse> login(@Valid @RequestBody AuthDTO.LoginRequest request) {
         return ResponseEntity.ok(authService.login(request));
     }
+    
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthDTO.AuthResponse> refresh(@Valid @RequestBody AuthDTO.RefreshRequest request) {
+        return ResponseEntity.ok(authService.refresh(request.getRefreshToken()));
+    }
+    
+    @PostMapping("/logout")
+    public ResponseEntity<AuthDTO.AuthResponse> logout(
+            @Valid @RequestBody AuthDTO.RefreshRequest request,
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        String accessToken = authorization != null && authorization.startsWith("Bearer ")
+                ? authorization.substring(7) : null;
+        return ResponseEntity.ok(authService.logout(request.getRefreshToken(), accessToken));
+    }
 }
\ No newline at end of file
@@ -1,13 +1,17 @@
 package com.eventmanager.controller;
 
 import com.eventmanager.dto.EventDTO;
+import com.eventmanager.dto.RowStream;
 import com.eventmanager.service.EventService;
+import com.eventmanager.service.RecommendationService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -16,6 +20,7 @@ import java.util.List;
 public class EventController {
     
     private final EventService eventService;
+    private final RecommendationService recommendationService;
     
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
@@ -31,14 +36,38 @@ public ResponseEntity<List<EventDTO.Response>> getAvailableEvents() {
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<EventDTO.Response>> getAllEvents() {
+    public ResponseEntity<RowStream> getAllEvents() {
         return ResponseEntity.ok(eventService.getAllEvents());
     }
     
+    @GetMapping(params = {"from", "to"})
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<List<EventDTO.Response>> getEventsInRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "false") boolean expiring) {
+        return ResponseEntity.ok(eventService.getEventsInRange(from, to, expiring));
+    }
+    
     @GetMapping("/active")
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
-    public ResponseEntity<List<EventDTO.Response>> getActiveEvents() {
-        return ResponseEntity.ok(eventService.getActiveEvents());
+    public ResponseEntity<List<EventDTO.Response>> getActiveEvents(
+            @RequestParam(defaultValue = "false") boolean includeMyStatus) {
+        List<EventDTO.Response> events = eventService.getActiveEvents();
+        return ResponseEntity.ok(includeMyStatus ? eventService.withMyApplicationStatus(events) : events);
+    }
+    
+    @GetMapping("/recommended")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<List<EventDTO.Response>> getRecommendedEvents(
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(recommendationService.getRecommendedEvents(limit));
+    }
+    
+    @GetMapping("/batch")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<List<EventDTO.Response>> getEventsByIds(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(eventService.getEventsByIds(ids));
     }
     
     @GetMapping("/{id}")
@@ -1,11 +1,15 @@
 package com.eventmanager.dto;
 
 import com.eventmanager.entity.Application.ApplicationStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 public class ApplicationDTO {
     
@@ -21,6 +25,8 @@ public class ApplicationDTO {
         private String userEmail;
         private LocalDateTime applicationDate;
         private ApplicationStatus status;
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private Long waitlistPosition;
     }
     
     @Data
@@ -31,11 +37,47 @@ public class ApplicationDTO {
         private ApplicationStatus status;
     }
     
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class WaitlistPosition {
+        private Long applicationId;
+        private Long eventId;
+        private Long position;
+        private int ahead;
+    }
+    
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
     public static class FilterRequest {
         private Long eventId;
         private ApplicationStatus status;
+        private Long userId;
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        private LocalDateTime from;
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        private LocalDateTime to;
+        private Sort.Direction sort = Sort.Direction.ASC;
+        private SortKey sortBy = SortKey.ID;
+        private Long after;
+        private Integer size;
+        private boolean includeTotal;
+        // Every matching row in one response, as before paging was added
+        private boolean all;
+    }
+    
+    // Ties on applicationDate are broken by id, so both keys give a stable keyset order
+    public enum SortKey {
+        ID, APPLICATION_DATE
+    }
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PageResponse {
+        private List<Response> content;
+        private Long nextCursor;
+        private Long totalCount;
     }
 }
\ No newline at end of file
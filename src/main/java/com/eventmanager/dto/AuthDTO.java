@@ -31,10 +31,19 @@ public class AuthDTO {
         private String password;
     }
     
+    @Data
+    public static class RefreshRequest {
+        @NotBlank(message = "Refresh token is required")
+        private String refreshToken;
+    }
+    
     @Data
     public static class AuthResponse {
         private String token;
         private String type = "Bearer";
+        // Seconds until the access token expires; renew it with the refresh token
+        private Long expiresIn;
+        private String refreshToken;
         private Long id;
         private String username;
         private String email;
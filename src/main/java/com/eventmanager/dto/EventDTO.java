@@ -1,8 +1,12 @@
 package com.eventmanager.dto;
 
+import com.eventmanager.entity.Application.ApplicationStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import jakarta.validation.constraints.Min;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.With;
 
 import java.time.LocalDate;
 
@@ -15,6 +19,8 @@ public class EventDTO {
         private String title;
         private String description;
         private LocalDate expiryDate;
+        @Min(value = 1, message = "Capacity must be at least 1")
+        private Integer capacity;
     }
     
     @Data
@@ -28,6 +34,11 @@ public class EventDTO {
         private LocalDate expiryDate;
         private Long organizerId;
         private String organizerName;
+        private Integer capacity;
+        // Caller's own application status, only on listings that ask for it
+        @With
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private ApplicationStatus myApplicationStatus;
     }
     
     @Data
@@ -37,5 +48,7 @@ public class EventDTO {
         private String title;
         private String description;
         private LocalDate expiryDate;
+        @Min(value = 1, message = "Capacity must be at least 1")
+        private Integer capacity;
     }
 } 
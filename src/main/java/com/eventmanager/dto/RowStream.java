@@ -0,0 +1,16 @@
+package com.eventmanager.dto;
+
+import com.eventmanager.util.JsonRowWriter;
+
+import java.io.IOException;
+
+/**
+ * A listing that writes itself row by row while the response is being sent,
+ * instead of being materialized as a list of DTOs first. Rendered as JSON, CBOR
+ * or Smile by {@code RowStreamHttpMessageConverter}.
+ */
+@FunctionalInterface
+public interface RowStream {
+    
+    void writeTo(JsonRowWriter writer) throws IOException;
+}
@@ -3,13 +3,29 @@ package com.eventmanager.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "event_applications", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"event_id", "user_id"})
+}, indexes = {
+    // Every per-event query reads only its event's range of one of the event_id-leading indexes
+    @Index(name = "idx_application_event", columnList = "event_id, id"),
+    @Index(name = "idx_application_event_status", columnList = "event_id, status, id"),
+    @Index(name = "idx_application_waitlist", columnList = "event_id, waitlist_position"),
+    @Index(name = "idx_application_event_waitlist", columnList = "event_id, status, waitlist_position"),
+    @Index(name = "idx_application_user", columnList = "user_id, id"),
+    @Index(name = "idx_application_status", columnList = "status, id"),
+    @Index(name = "idx_application_date", columnList = "application_date, id"),
+    // Keyset order for the admin listing sorted by date within one event or one status
+    @Index(name = "idx_application_event_date", columnList = "event_id, application_date, id"),
+    @Index(name = "idx_application_status_date", columnList = "status, application_date, id")
 })
+// Hide applications whose event or user is soft-deleted but not yet purged
+@SQLRestriction("event_id NOT IN (SELECT d.id FROM events d WHERE d.deleted = true) " +
+                "AND user_id NOT IN (SELECT d.id FROM users d WHERE d.deleted = true)")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -36,7 +52,10 @@ public class Application {
     @Column(nullable = false)
     private ApplicationStatus status;
     
+    // Assigned once when the application joins the event's waitlist
+    private Long waitlistPosition;
+    
     public enum ApplicationStatus {
-        PENDING, APPROVED, REJECTED
+        PENDING, APPROVED, REJECTED, WAITLISTED, WITHDRAWN
     }
 }
\ No newline at end of file
@@ -2,11 +2,16 @@ package com.eventmanager.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "events")
+@Table(name = "events", indexes = {
+    @Index(name = "idx_event_deleted", columnList = "deleted"),
+    @Index(name = "idx_event_expiry_upload", columnList = "expiry_date, upload_date")
+})
+@SQLRestriction("deleted = false")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -31,7 +36,15 @@ public class Event {
     @Column(nullable = false)
     private LocalDate expiryDate;
     
+    // Maximum number of approved applications; null means unlimited
+    private Integer capacity;
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "organizer_id", nullable = false)
     private User organizer;
+    
+    // Soft-deleted rows stay until DeletionPurgeJob has removed their applications
+    @Builder.Default
+    @Column(nullable = false)
+    private boolean deleted = false;
 } 
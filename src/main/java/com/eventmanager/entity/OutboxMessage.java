@@ -0,0 +1,43 @@
+package com.eventmanager.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A change to be announced to downstream systems, written in the same transaction
+ * as the change itself and removed once the relay has delivered it.
+ */
+@Entity
+@Table(name = "outbox_messages")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class OutboxMessage {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 64)
+    private Type type;
+    
+    // Id of the changed application; consumers use it to order and de-duplicate
+    @Column(nullable = false)
+    private Long aggregateId;
+    
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+    
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+    
+    public enum Type {
+        APPLICATION_CREATED, APPLICATION_STATUS_CHANGED
+    }
+}
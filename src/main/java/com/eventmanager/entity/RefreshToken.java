@@ -0,0 +1,47 @@
+package com.eventmanager.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A refresh token, stored only as the SHA-256 of its value. Each use replaces it
+ * with a new token in the same family; presenting a used token again revokes the
+ * whole family.
+ */
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+    @Index(name = "idx_refresh_token_family", columnList = "family_id"),
+    @Index(name = "idx_refresh_token_expiry", columnList = "expires_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class RefreshToken {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false, unique = true, length = 64)
+    private String tokenHash;
+    
+    @Column(nullable = false, length = 36)
+    private String familyId;
+    
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+    
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+    
+    @Builder.Default
+    @Column(nullable = false)
+    private boolean used = false;
+}
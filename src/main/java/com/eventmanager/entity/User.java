@@ -3,11 +3,15 @@ package com.eventmanager.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+    @Index(name = "idx_user_deleted", columnList = "deleted")
+})
+@SQLRestriction("deleted = false")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -37,6 +41,11 @@ public class User {
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdDate;
     
+    // Soft-deleted rows stay until DeletionPurgeJob has removed their dependents
+    @Builder.Default
+    @Column(nullable = false)
+    private boolean deleted = false;
+    
     public enum UserRole {
         ADMIN, USER
     }
@@ -0,0 +1,25 @@
+package com.eventmanager.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("eventmanager.Authentication")
+@Label("JWT Authentication")
+@Description("Token parsing, user lookup and validation in JwtAuthenticationFilter")
+@Category({"Event Manager", "Security"})
+@StackTrace(false)
+public class AuthenticationEvent extends Event {
+    
+    @Label("Endpoint")
+    public String endpoint;
+    
+    @Label("Role")
+    public String role;
+    
+    @Label("Authenticated")
+    public boolean authenticated;
+}
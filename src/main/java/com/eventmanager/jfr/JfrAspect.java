@@ -0,0 +1,114 @@
+package com.eventmanager.jfr;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.data.domain.Slice;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Optional;
+
+/**
+ * Records service and repository calls as JFR events. When no recording is
+ * running the advice only checks {@code isEnabled()}; names, roles and row
+ * counts are computed only for events that are actually committed.
+ */
+@Aspect
+@Component
+public class JfrAspect {
+    
+    @Around("execution(public * com.eventmanager.service.EventService.*(..)) || " +
+            "execution(public * com.eventmanager.service.ApplicationService.*(..)) || " +
+            "execution(public * com.eventmanager.service.UserService.*(..)) || " +
+            "execution(public * com.eventmanager.service.AuthService.*(..))")
+    public Object recordServiceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        ServiceCallEvent event = new ServiceCallEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        event.begin();
+        Object result = null;
+        Throwable failure = null;
+        try {
+            result = joinPoint.proceed();
+            return result;
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = operation(joinPoint);
+                event.endpoint = JfrRequestFilter.currentEndpoint();
+                event.role = currentRole();
+                event.rows = rows(result);
+                event.exception = failure == null ? null : failure.getClass().getName();
+                event.commit();
+            }
+        }
+    }
+    
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object recordRepositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        event.begin();
+        Object result = null;
+        Throwable failure = null;
+        try {
+            result = joinPoint.proceed();
+            return result;
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = operation(joinPoint);
+                event.endpoint = JfrRequestFilter.currentEndpoint();
+                event.rows = rows(result);
+                event.exception = failure == null ? null : failure.getClass().getName();
+                event.commit();
+            }
+        }
+    }
+    
+    static String currentRole() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return null;
+        }
+        Iterator<? extends GrantedAuthority> authorities = authentication.getAuthorities().iterator();
+        return authorities.hasNext() ? authorities.next().getAuthority() : null;
+    }
+    
+    // Repository proxies report the Spring Data interface, so name the repository the code actually calls
+    public static String operation(ProceedingJoinPoint joinPoint) {
+        Class<?> type = joinPoint.getSignature().getDeclaringType();
+        Class<?>[] interfaces = joinPoint.getTarget() == null ? new Class<?>[0] : joinPoint.getTarget().getClass().getInterfaces();
+        if (interfaces.length > 0 && interfaces[0].getName().startsWith("com.eventmanager.")) {
+            type = interfaces[0];
+        }
+        return type.getSimpleName() + "." + joinPoint.getSignature().getName();
+    }
+    
+    public static int rows(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return -1;
+    }
+}
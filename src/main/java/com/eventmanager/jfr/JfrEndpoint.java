@@ -0,0 +1,137 @@
+package com.eventmanager.jfr;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code /actuator/jfr}: controls one bounded flight recording using the JDK's
+ * low-overhead "default" settings plus the application events.
+ * <ul>
+ *   <li>{@code GET} reports its state</li>
+ *   <li>{@code POST} starts it (optional {@code maxAge} seconds and {@code maxSize} bytes)</li>
+ *   <li>{@code GET /actuator/jfr/dump} downloads what it holds so far</li>
+ *   <li>{@code DELETE} stops and discards it</li>
+ * </ul>
+ * With {@code jfr.continuous=true} it starts with the application and is meant to stay on.
+ */
+@Slf4j
+@Component
+@WebEndpoint(id = "jfr")
+public class JfrEndpoint {
+    
+    @Value("${jfr.continuous:false}")
+    private boolean continuous;
+    
+    @Value("${jfr.max-age:1800}")
+    private long defaultMaxAgeSeconds;
+    
+    @Value("${jfr.max-size:104857600}")
+    private long defaultMaxSizeBytes;
+    
+    private Recording recording;
+    // Only the latest dump is kept on disk
+    private Path lastDump;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void startContinuous() {
+        if (continuous) {
+            start(null, null);
+        }
+    }
+    
+    @ReadOperation
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("state", recording == null ? RecordingState.CLOSED : recording.getState());
+        if (recording != null) {
+            status.put("startTime", recording.getStartTime());
+            status.put("maxAgeSeconds", recording.getMaxAge().toSeconds());
+            status.put("maxSizeBytes", recording.getMaxSize());
+            status.put("sizeBytes", recording.getSize());
+        }
+        return status;
+    }
+    
+    @WriteOperation
+    public synchronized Map<String, Object> start(@Nullable Long maxAge, @Nullable Long maxSize) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return status();
+        }
+        closeRecording();
+        try {
+            Recording started = new Recording(Configuration.getConfiguration("default"));
+            started.setName("eventmanager");
+            started.setToDisk(true);
+            started.setMaxAge(Duration.ofSeconds(maxAge != null ? maxAge : defaultMaxAgeSeconds));
+            started.setMaxSize(maxSize != null ? maxSize : defaultMaxSizeBytes);
+            started.start();
+            recording = started;
+            log.info("Started flight recording (max age {} s, max size {} bytes)",
+                    started.getMaxAge().toSeconds(), started.getMaxSize());
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Could not start flight recording", e);
+        }
+        return status();
+    }
+    
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> dump(@Selector String action) {
+        if (!"dump".equals(action)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        try {
+            if (lastDump != null) {
+                Files.deleteIfExists(lastDump);
+            }
+            Path file = Files.createTempFile("eventmanager-", ".jfr");
+            file.toFile().deleteOnExit();
+            recording.dump(file);
+            lastDump = file;
+            return new WebEndpointResponse<>(new FileSystemResource(file), WebEndpointResponse.STATUS_OK);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    @DeleteOperation
+    public synchronized Map<String, Object> stop() {
+        closeRecording();
+        return status();
+    }
+    
+    @PreDestroy
+    public synchronized void closeRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+}
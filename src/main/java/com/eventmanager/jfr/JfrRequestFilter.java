@@ -0,0 +1,60 @@
+package com.eventmanager.jfr;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Emits a {@link RequestEvent} per request and exposes the request line to the
+ * other events recorded on the same thread.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class JfrRequestFilter extends OncePerRequestFilter {
+    
+    /** Request attribute through which the authentication filter reports the caller's role. */
+    public static final String ROLE_ATTRIBUTE = JfrRequestFilter.class.getName() + ".role";
+    
+    private static final ThreadLocal<String> CURRENT_ENDPOINT = new ThreadLocal<>();
+    
+    /**
+     * {@code METHOD /path} of the request being served on this thread, or null.
+     */
+    public static String currentEndpoint() {
+        return CURRENT_ENDPOINT.get();
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RequestEvent event = new RequestEvent();
+        if (!event.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        CURRENT_ENDPOINT.set(request.getMethod() + " " + request.getRequestURI());
+        event.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            CURRENT_ENDPOINT.remove();
+            event.end();
+            if (event.shouldCommit()) {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                event.method = request.getMethod();
+                event.endpoint = pattern != null ? pattern.toString() : request.getRequestURI();
+                event.status = response.getStatus();
+                event.role = (String) request.getAttribute(ROLE_ATTRIBUTE);
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.eventmanager.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("eventmanager.RepositoryCall")
+@Label("Repository Call")
+@Description("A Spring Data repository method, including any flush it triggers")
+@Category({"Event Manager", "Persistence"})
+@StackTrace(false)
+@Threshold("1 ms")
+public class RepositoryCallEvent extends Event {
+    
+    @Label("Operation")
+    public String operation;
+    
+    @Label("Endpoint")
+    public String endpoint;
+    
+    @Label("Rows")
+    @Description("Rows returned: collection or page size, 0/1 for optionals, -1 when not a result set")
+    public int rows;
+    
+    @Label("Exception")
+    public String exception;
+}
@@ -0,0 +1,29 @@
+package com.eventmanager.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("eventmanager.Request")
+@Label("HTTP Request")
+@Description("One HTTP request, from the first servlet filter until the response is written")
+@Category({"Event Manager", "HTTP"})
+@StackTrace(false)
+public class RequestEvent extends Event {
+    
+    @Label("Method")
+    public String method;
+    
+    @Label("Endpoint")
+    @Description("Matched handler pattern, or the raw path when no handler matched")
+    public String endpoint;
+    
+    @Label("Status")
+    public int status;
+    
+    @Label("Role")
+    public String role;
+}
@@ -0,0 +1,32 @@
+package com.eventmanager.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("eventmanager.ServiceCall")
+@Label("Service Call")
+@Description("A public method of one of the application services")
+@Category({"Event Manager", "Service"})
+@StackTrace(false)
+public class ServiceCallEvent extends Event {
+    
+    @Label("Operation")
+    public String operation;
+    
+    @Label("Endpoint")
+    public String endpoint;
+    
+    @Label("Role")
+    public String role;
+    
+    @Label("Rows")
+    @Description("Size of a returned collection, or -1")
+    public int rows;
+    
+    @Label("Exception")
+    public String exception;
+}
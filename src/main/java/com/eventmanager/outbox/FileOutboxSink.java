@@ -0,0 +1,56 @@
+package com.eventmanager.outbox;
+
+import com.eventmanager.entity.OutboxMessage;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends each message as one JSON line to a local file and forces it to disk before
+ * returning. A stand-in for a real broker that downstream tools can tail.
+ */
+public class FileOutboxSink implements OutboxSink {
+    
+    private final Path file;
+    private final ObjectMapper objectMapper;
+    
+    public FileOutboxSink(Path file, ObjectMapper objectMapper) {
+        this.file = file;
+        this.objectMapper = objectMapper;
+    }
+    
+    @Override
+    public synchronized void deliver(List<OutboxMessage> messages) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            OutputStream out = Channels.newOutputStream(channel);
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                for (OutboxMessage message : messages) {
+                    generator.writeStartObject();
+                    generator.writeNumberField("id", message.getId());
+                    generator.writeStringField("type", message.getType().name());
+                    generator.writeNumberField("aggregateId", message.getAggregateId());
+                    generator.writeStringField("createdAt", message.getCreatedAt().toString());
+                    generator.writeFieldName("payload");
+                    generator.writeRawValue(message.getPayload());
+                    generator.writeEndObject();
+                    generator.writeRaw('\n');
+                }
+            }
+            channel.force(false);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.eventmanager.outbox;
+
+import com.eventmanager.entity.OutboxMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves outbox messages to the {@link OutboxSink}. Each batch is locked with
+ * {@code SKIP LOCKED}, so relays on several nodes split the backlog instead of
+ * waiting on each other. Each batch is delivered and then deleted in one statement,
+ * all in the same transaction.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxRelay {
+    
+    private static final String SELECT_BATCH =
+            "SELECT id, type, aggregate_id, payload, created_at FROM outbox_messages " +
+            "ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED";
+    
+    private static final RowMapper<OutboxMessage> ROW_MAPPER = (rs, rowNum) -> OutboxMessage.builder()
+            .id(rs.getLong("id"))
+            .type(OutboxMessage.Type.valueOf(rs.getString("type")))
+            .aggregateId(rs.getLong("aggregate_id"))
+            .payload(rs.getString("payload"))
+            .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+            .build();
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxSink sink;
+    private final MeterRegistry meterRegistry;
+    
+    // Age of the oldest message seen by the last poll; keeps growing while delivery fails
+    private final AtomicLong oldestAgeMillis = new AtomicLong();
+    private Counter delivered;
+    private Counter failures;
+    private Timer lag;
+    
+    @Value("${outbox.batch-size:500}")
+    private int batchSize;
+    
+    @PostConstruct
+    public void registerMetrics() {
+        delivered = Counter.builder("eventmanager.outbox.delivered")
+                .description("Messages handed to the sink and removed from the outbox")
+                .register(meterRegistry);
+        failures = Counter.builder("eventmanager.outbox.failures")
+                .description("Batches the sink failed to deliver")
+                .register(meterRegistry);
+        lag = Timer.builder("eventmanager.outbox.lag")
+                .description("Time from the change committing to its delivery")
+                .register(meterRegistry);
+        Gauge.builder("eventmanager.outbox.oldest-age", oldestAgeMillis, AtomicLong::get)
+                .baseUnit("milliseconds")
+                .description("Age of the oldest undelivered message at the last poll")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Delivers batches until the outbox is drained or a delivery fails.
+     *
+     * @return messages delivered
+     */
+    @Scheduled(initialDelayString = "${outbox.poll-interval:1000}", fixedDelayString = "${outbox.poll-interval:1000}")
+    public int relay() {
+        int total = 0;
+        int batch;
+        do {
+            batch = transactionTemplate.execute(status -> relayBatch());
+            total += batch;
+        } while (batch == batchSize);
+        return total;
+    }
+    
+    private int relayBatch() {
+        List<OutboxMessage> messages = jdbcTemplate.query(SELECT_BATCH, ROW_MAPPER, batchSize);
+        if (messages.isEmpty()) {
+            oldestAgeMillis.set(0);
+            return 0;
+        }
+        oldestAgeMillis.set(Duration.between(messages.get(0).getCreatedAt(), LocalDateTime.now()).toMillis());
+        
+        try {
+            sink.deliver(messages);
+        } catch (Exception e) {
+            failures.increment();
+            log.warn("Outbox delivery of {} messages failed, will retry: {}", messages.size(), e.getMessage());
+            return 0;
+        }
+        
+        String placeholders = String.join(",", Collections.nCopies(messages.size(), "?"));
+        jdbcTemplate.update("DELETE FROM outbox_messages WHERE id IN (" + placeholders + ")",
+                messages.stream().map(OutboxMessage::getId).toArray());
+        
+        LocalDateTime now = LocalDateTime.now();
+        delivered.increment(messages.size());
+        for (OutboxMessage message : messages) {
+            lag.record(Duration.between(message.getCreatedAt(), now));
+        }
+        return messages.size();
+    }
+}
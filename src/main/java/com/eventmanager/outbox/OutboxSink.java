@@ -0,0 +1,18 @@
+package com.eventmanager.outbox;
+
+import com.eventmanager.entity.OutboxMessage;
+
+import java.util.List;
+
+/**
+ * Where the outbox relay hands messages off to. Delivery is at least once: a batch
+ * that fails, or whose removal from the outbox fails afterwards, is delivered again,
+ * so consumers should de-duplicate on the message id.
+ */
+public interface OutboxSink {
+    
+    /**
+     * Delivers {@code messages} in id order. Throwing leaves the whole batch in the outbox.
+     */
+    void deliver(List<OutboxMessage> messages) throws Exception;
+}
@@ -5,15 +5,15 @@ import com.eventmanager.entity.Event;
 import com.eventmanager.entity.User;
 import com.eventmanager.entity.Application.ApplicationStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ApplicationRepository extends JpaRepository<Application, Long> {
+public interface ApplicationRepository extends JpaRepository<Application, Long>, JpaSpecificationExecutor<Application> {
     
     Optional<Application> findByEventAndUser(Event event, User user);
     List<Application> findByEvent(Event event);
@@ -21,10 +21,26 @@ public interface ApplicationRepository extends JpaRepository<Application, Long>
     List<Application> findByEventAndStatus(Event event, ApplicationStatus status);
     List<Application> findByStatus(ApplicationStatus status);
     boolean existsByEventAndUser(Event event, User user);
+    long countByEventAndStatus(Event event, ApplicationStatus status);
     
-    @Query("SELECT a FROM Application a WHERE " +
-           "(:eventId IS NULL OR a.event.id = :eventId) AND " +
-           "(:status IS NULL OR a.status = :status)")
-    List<Application> findByEventIdAndStatus(@Param("eventId") Long eventId, 
-                                           @Param("status") ApplicationStatus status);
+    // Head of the waitlist and the queue ahead of a position, both ranges of idx_application_event_waitlist
+    Optional<Application> findFirstByEventIdAndStatusOrderByWaitlistPositionAsc(Long eventId, ApplicationStatus status);
+    long countByEventIdAndStatusAndWaitlistPositionLessThan(Long eventId, ApplicationStatus status, Long position);
+    
+    @Query("SELECT a.event.id FROM Application a WHERE a.user.id = :userId ORDER BY a.id DESC")
+    List<Long> findEventIdsByUserId(Long userId);
+    
+    @Query("SELECT a.event.id AS eventId, a.status AS status FROM Application a WHERE a.user.id = :userId")
+    List<EventStatus> findStatusesByUserId(Long userId);
+    
+    @Query("SELECT a.event.id FROM Application a WHERE a.id = :id")
+    Optional<Long> findEventIdById(Long id);
+    
+    @Query("SELECT MAX(a.waitlistPosition) FROM Application a WHERE a.event.id = :eventId")
+    Long findMaxWaitlistPosition(Long eventId);
+    
+    interface EventStatus {
+        Long getEventId();
+        ApplicationStatus getStatus();
+    }
 }
\ No newline at end of file
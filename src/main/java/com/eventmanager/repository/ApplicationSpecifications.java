@@ -0,0 +1,85 @@
+package com.eventmanager.repository;
+
+import com.eventmanager.entity.Application;
+import com.eventmanager.entity.Application.ApplicationStatus;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+/**
+ * Building blocks for dynamic application queries. Each method returns
+ * {@code null} when its argument is absent, so combining them with
+ * {@link Specification#where} only emits the predicates actually supplied.
+ */
+public final class ApplicationSpecifications {
+    
+    private ApplicationSpecifications() {
+    }
+    
+    public static Specification<Application> hasEventId(Long eventId) {
+        return eventId == null ? null : (root, query, cb) -> cb.equal(root.get("event").get("id"), eventId);
+    }
+    
+    public static Specification<Application> hasUserId(Long userId) {
+        return userId == null ? null : (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
+    }
+    
+    public static Specification<Application> hasStatus(ApplicationStatus status) {
+        return status == null ? null : (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+    
+    public static Specification<Application> appliedFrom(LocalDateTime from) {
+        return from == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("applicationDate"), from);
+    }
+    
+    public static Specification<Application> appliedBefore(LocalDateTime to) {
+        return to == null ? null : (root, query, cb) -> cb.lessThan(root.get("applicationDate"), to);
+    }
+    
+    public static Specification<Application> idAfter(Long cursor, boolean descending) {
+        if (cursor == null) {
+            return null;
+        }
+        return descending
+                ? (root, query, cb) -> cb.lessThan(root.get("id"), cursor)
+                : (root, query, cb) -> cb.greaterThan(root.get("id"), cursor);
+    }
+    
+    /**
+     * Rows after the cursor row in {@code (applicationDate, id)} order. The cursor's
+     * date is read by a subquery, so the cursor stays a plain application id.
+     */
+    public static Specification<Application> applicationDateAfter(Long cursor, boolean descending) {
+        if (cursor == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Subquery<LocalDateTime> cursorDate = query.subquery(LocalDateTime.class);
+            Root<Application> cursorRow = cursorDate.from(Application.class);
+            cursorDate.select(cursorRow.get("applicationDate")).where(cb.equal(cursorRow.get("id"), cursor));
+            Path<LocalDateTime> date = root.get("applicationDate");
+            Path<Long> id = root.get("id");
+            return descending
+                    ? cb.or(cb.lessThan(date, cursorDate), cb.and(cb.equal(date, cursorDate), cb.lessThan(id, cursor)))
+                    : cb.or(cb.greaterThan(date, cursorDate), cb.and(cb.equal(date, cursorDate), cb.greaterThan(id, cursor)));
+        };
+    }
+    
+    /**
+     * Fetch-joins the event and user needed to build a response row. Skipped for
+     * count queries, where a fetch join is not allowed.
+     */
+    public static Specification<Application> fetchEventAndUser() {
+        return (root, query, cb) -> {
+            if (query.getResultType() != Long.class && query.getResultType() != long.class) {
+                root.fetch("event", JoinType.INNER);
+                root.fetch("user", JoinType.INNER);
+            }
+            return null;
+        };
+    }
+}
@@ -2,17 +2,49 @@ package com.eventmanager.repository;
 
 import com.eventmanager.entity.Event;
 import com.eventmanager.entity.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface EventRepository extends JpaRepository<Event, Long> {
     List<Event> findByOrganizer(User organizer);
     
-    @Query("SELECT e FROM Event e WHERE e.expiryDate >= :currentDate ORDER BY e.uploadDate DESC")
+    @Query("SELECT e FROM Event e JOIN FETCH e.organizer WHERE e.expiryDate >= :currentDate ORDER BY e.uploadDate DESC")
     List<Event> findActiveEvents(LocalDate currentDate);
+    
+    // Both use idx_event_expiry_upload: a range on expiry_date, filtered on upload_date
+    @Query("SELECT e FROM Event e JOIN FETCH e.organizer " +
+           "WHERE e.expiryDate >= :from AND e.uploadDate <= :to ORDER BY e.uploadDate, e.id")
+    List<Event> findOverlapping(LocalDate from, LocalDate to);
+    
+    @Query("SELECT e FROM Event e JOIN FETCH e.organizer " +
+           "WHERE e.expiryDate BETWEEN :from AND :to ORDER BY e.expiryDate, e.id")
+    List<Event> findExpiringBetween(LocalDate from, LocalDate to);
+    
+    @Query("SELECT e FROM Event e JOIN FETCH e.organizer WHERE e.id = :id")
+    Optional<Event> findWithOrganizerById(Long id);
+    
+    @Query("SELECT e FROM Event e JOIN FETCH e.organizer WHERE e.id IN :ids")
+    List<Event> findWithOrganizerByIdIn(Collection<Long> ids);
+    
+    // Serializes seat-counting decisions (apply, approve, promote) on one event
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Event e WHERE e.id = :id")
+    Optional<Event> findByIdForUpdate(Long id);
+    
+    @Query("SELECT e.id FROM Event e WHERE e.organizer.id = :organizerId")
+    List<Long> findIdsByOrganizerId(Long organizerId);
+    
+    @Modifying
+    @Query("UPDATE Event e SET e.deleted = true WHERE e.organizer.id = :organizerId")
+    int softDeleteByOrganizerId(Long organizerId);
 }
\ No newline at end of file
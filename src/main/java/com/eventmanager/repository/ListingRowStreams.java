@@ -0,0 +1,137 @@
+package com.eventmanager.repository;
+
+import com.eventmanager.dto.RowStream;
+import com.eventmanager.util.JsonRowWriter;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Large listings streamed from JDBC straight into the response, producing the
+ * same documents as {@code EventDTO.Response} and {@code ApplicationDTO.Response}
+ * without building entities or DTOs. The SQL applies the soft-delete filters
+ * that the entity mappings add to JPA queries.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ListingRowStreams {
+    
+    private static final String ALL_EVENTS =
+            "SELECT e.id, e.title, e.description, e.upload_date, e.expiry_date, e.organizer_id, u.username, e.capacity " +
+            "FROM events e JOIN users u ON u.id = e.organizer_id " +
+            "WHERE e.deleted = false AND u.deleted = false ORDER BY e.id";
+    
+    private static final String APPLICATIONS_OF_USER =
+            "SELECT a.id, a.event_id, e.title, a.user_id, u.username, u.email, a.application_date, a.status, " +
+            "a.waitlist_position " +
+            "FROM event_applications a JOIN events e ON e.id = a.event_id JOIN users u ON u.id = a.user_id " +
+            "WHERE a.user_id = ? AND e.deleted = false AND u.deleted = false ORDER BY a.id";
+    
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString TITLE = new SerializedString("title");
+    private static final SerializableString DESCRIPTION = new SerializedString("description");
+    private static final SerializableString UPLOAD_DATE = new SerializedString("uploadDate");
+    private static final SerializableString EXPIRY_DATE = new SerializedString("expiryDate");
+    private static final SerializableString ORGANIZER_ID = new SerializedString("organizerId");
+    private static final SerializableString ORGANIZER_NAME = new SerializedString("organizerName");
+    private static final SerializableString CAPACITY = new SerializedString("capacity");
+    private static final SerializableString EVENT_ID = new SerializedString("eventId");
+    private static final SerializableString EVENT_TITLE = new SerializedString("eventTitle");
+    private static final SerializableString USER_ID = new SerializedString("userId");
+    private static final SerializableString USER_NAME = new SerializedString("userName");
+    private static final SerializableString USER_EMAIL = new SerializedString("userEmail");
+    private static final SerializableString APPLICATION_DATE = new SerializedString("applicationDate");
+    private static final SerializableString STATUS = new SerializedString("status");
+    private static final SerializableString WAITLIST_POSITION = new SerializedString("waitlistPosition");
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    // Rows fetched per round trip; Integer.MIN_VALUE makes Connector/J stream them one by one
+    @Value("${listings.fetch-size:500}")
+    private int fetchSize;
+    
+    public RowStream allEvents() {
+        return writer -> stream(writer, ALL_EVENTS, null, ListingRowStreams::writeEvent);
+    }
+    
+    public RowStream applicationsOfUser(Long userId) {
+        return writer -> stream(writer, APPLICATIONS_OF_USER, userId, ListingRowStreams::writeApplication);
+    }
+    
+    private static void writeEvent(ResultSet rs, JsonRowWriter writer) throws SQLException, IOException {
+        writer.startRow();
+        writer.writeNumber(ID, rs.getLong(1));
+        writer.writeString(TITLE, rs.getString(2));
+        writer.writeString(DESCRIPTION, rs.getString(3));
+        writer.writeDate(UPLOAD_DATE, rs.getObject(4, LocalDate.class));
+        writer.writeDate(EXPIRY_DATE, rs.getObject(5, LocalDate.class));
+        writer.writeNumber(ORGANIZER_ID, rs.getLong(6));
+        writer.writeString(ORGANIZER_NAME, rs.getString(7));
+        int capacity = rs.getInt(8);
+        if (rs.wasNull()) {
+            writer.writeNull(CAPACITY);
+        } else {
+            writer.writeNumber(CAPACITY, capacity);
+        }
+        writer.endRow();
+    }
+    
+    private static void writeApplication(ResultSet rs, JsonRowWriter writer) throws SQLException, IOException {
+        writer.startRow();
+        writer.writeNumber(ID, rs.getLong(1));
+        writer.writeNumber(EVENT_ID, rs.getLong(2));
+        writer.writeString(EVENT_TITLE, rs.getString(3));
+        writer.writeNumber(USER_ID, rs.getLong(4));
+        writer.writeString(USER_NAME, rs.getString(5));
+        writer.writeString(USER_EMAIL, rs.getString(6));
+        writer.writeDateTime(APPLICATION_DATE, rs.getObject(7, LocalDateTime.class));
+        writer.writeString(STATUS, rs.getString(8));
+        // Omitted when null, like @JsonInclude(NON_NULL) on the DTO
+        long waitlistPosition = rs.getLong(9);
+        if (!rs.wasNull()) {
+            writer.writeNumber(WAITLIST_POSITION, waitlistPosition);
+        }
+        writer.endRow();
+    }
+    
+    private void stream(JsonRowWriter writer, String sql, Long parameter, RowWriter rowWriter) throws IOException {
+        writer.startRows();
+        try {
+            RowCallbackHandler handler = rs -> {
+                try {
+                    rowWriter.write(rs, writer);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            };
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql);
+                statement.setFetchSize(fetchSize);
+                if (parameter != null) {
+                    statement.setLong(1, parameter);
+                }
+                return statement;
+            }, handler);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.endRows();
+    }
+    
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(ResultSet rs, JsonRowWriter writer) throws SQLException, IOException;
+    }
+}
@@ -0,0 +1,9 @@
+package com.eventmanager.repository;
+
+import com.eventmanager.entity.OutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OutboxRepository extends JpaRepository<OutboxMessage, Long> {
+}
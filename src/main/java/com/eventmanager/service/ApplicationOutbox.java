@@ -0,0 +1,65 @@
+package com.eventmanager.service;
+
+import com.eventmanager.entity.Application;
+import com.eventmanager.entity.OutboxMessage;
+import com.eventmanager.repository.OutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Records application changes in the outbox. Runs only inside the transaction
+ * that makes the change, so a message exists exactly when the change committed.
+ */
+@Component
+@RequiredArgsConstructor
+public class ApplicationOutbox {
+    
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+    
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applicationCreated(Application application) {
+        append(OutboxMessage.Type.APPLICATION_CREATED, application, null);
+    }
+    
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void statusChanged(Application application, Application.ApplicationStatus previousStatus) {
+        append(OutboxMessage.Type.APPLICATION_STATUS_CHANGED, application, previousStatus);
+    }
+    
+    private void append(OutboxMessage.Type type, Application application,
+                        Application.ApplicationStatus previousStatus) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("applicationId", application.getId());
+        payload.put("eventId", application.getEvent().getId());
+        payload.put("userId", application.getUser().getId());
+        payload.put("status", application.getStatus());
+        payload.put("previousStatus", previousStatus);
+        payload.put("waitlistPosition", application.getWaitlistPosition());
+        payload.put("occurredAt", now);
+        
+        outboxRepository.save(OutboxMessage.builder()
+                .type(type)
+                .aggregateId(application.getId())
+                .payload(toJson(payload))
+                .createdAt(now)
+                .build());
+    }
+    
+    private String toJson(Map<String, Object> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialize outbox payload", e);
+        }
+    }
+}
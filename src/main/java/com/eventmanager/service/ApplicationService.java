@@ -1,19 +1,33 @@
 package com.eventmanager.service;
 
 import com.eventmanager.dto.ApplicationDTO;
+import com.eventmanager.dto.RowStream;
 import com.eventmanager.entity.Application;
 import com.eventmanager.entity.Event;
 import com.eventmanager.entity.User;
 import com.eventmanager.repository.ApplicationRepository;
 import com.eventmanager.repository.EventRepository;
+import com.eventmanager.repository.ListingRowStreams;
 import com.eventmanager.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
+import static com.eventmanager.repository.ApplicationSpecifications.*;
+
 @Service
 @RequiredArgsConstructor
 public class ApplicationService {
@@ -21,13 +35,25 @@ public class ApplicationService {
     private final ApplicationRepository applicationRepository;
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
+    private final ApplicationStatusNotifier statusNotifier;
+    private final CoApplicationIndex coApplicationIndex;
+    private final ListingRowStreams listingRowStreams;
+    private final ApplicationOutbox outbox;
+    
+    @Value("${applications.page.default-size:100}")
+    private int defaultPageSize;
+    
+    @Value("${applications.page.max-size:1000}")
+    private int maxPageSize;
     
+    @Transactional
     public ApplicationDTO.Response applyForEvent(Long eventId) {
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         
-        Event event = eventRepository.findById(eventId)
+        // Locked so that the seat count and waitlist position below stay valid until commit
+        Event event = eventRepository.findByIdForUpdate(eventId)
                 .orElseThrow(() -> new RuntimeException("Event not found"));
         
         // Check if event is expired
@@ -46,57 +72,168 @@ public class ApplicationService {
                 .status(Application.ApplicationStatus.PENDING)
                 .build();
         
+        // A full event queues new applicants instead of turning them away
+        if (isFull(event)) {
+            application.setStatus(Application.ApplicationStatus.WAITLISTED);
+            application.setWaitlistPosition(nextWaitlistPosition(eventId));
+        }
+        
+        List<Long> previousEventIds = applicationRepository.findEventIdsByUserId(user.getId());
         Application savedApplication = applicationRepository.save(application);
+        outbox.applicationCreated(savedApplication);
+        recordCoApplicationAfterCommit(eventId, previousEventIds);
         return convertToDTO(savedApplication);
     }
     
-    public List<ApplicationDTO.Response> getUserApplications() {
+    @Transactional
+    public ApplicationDTO.StatusResponse withdrawApplication(Long applicationId) {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        Application application = findWithEventLocked(applicationId);
+        
+        if (!application.getUser().getUsername().equals(username)) {
+            throw new RuntimeException("You can only withdraw your own applications");
+        }
+        
+        return changeStatus(application, Application.ApplicationStatus.WITHDRAWN,
+                            "Application withdrawn successfully");
+    }
+    
+    @Transactional(readOnly = true)
+    public ApplicationDTO.WaitlistPosition getWaitlistPosition(Long applicationId) {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        Application application = applicationRepository.findById(applicationId)
+                .orElseThrow(() -> new RuntimeException("Application not found"));
+        
+        if (!application.getUser().getUsername().equals(username)) {
+            checkAdminRole();
+        }
+        if (application.getStatus() != Application.ApplicationStatus.WAITLISTED) {
+            throw new RuntimeException("Application is not on the waitlist");
+        }
+        
+        Long eventId = application.getEvent().getId();
+        return new ApplicationDTO.WaitlistPosition(
+                application.getId(),
+                eventId,
+                application.getWaitlistPosition(),
+                Math.toIntExact(applicationRepository.countByEventIdAndStatusAndWaitlistPositionLessThan(
+                        eventId, Application.ApplicationStatus.WAITLISTED, application.getWaitlistPosition()))
+        );
+    }
+    
+    /**
+     * Approves waitlisted applications in position order until the event is full again.
+     * Takes the event lock itself, so it is safe to call from outside a status change.
+     */
+    @Transactional
+    public void promoteFromWaitlist(Event event) {
+        Long eventId = event.getId();
+        Optional<Event> locked = eventRepository.findByIdForUpdate(eventId);
+        if (locked.isEmpty()) {
+            return;
+        }
+        event = locked.get();
+        // Read from the database under the lock, so applicants waitlisted on any node are seen in order
+        while (!isFull(event)) {
+            Optional<Application> head = applicationRepository.findFirstByEventIdAndStatusOrderByWaitlistPositionAsc(
+                    eventId, Application.ApplicationStatus.WAITLISTED);
+            if (head.isEmpty()) {
+                return;
+            }
+            Application candidate = head.get();
+            candidate.setStatus(Application.ApplicationStatus.APPROVED);
+            applicationRepository.save(candidate);
+            outbox.statusChanged(candidate, Application.ApplicationStatus.WAITLISTED);
+            notifyAfterCommit(candidate.getUser().getId(), candidate.getId(),
+                    new ApplicationDTO.StatusResponse("Application approved from the waitlist",
+                                                      Application.ApplicationStatus.APPROVED));
+        }
+    }
+    
+    // Callers hold the event lock, so no other node can hand out the same position
+    private long nextWaitlistPosition(Long eventId) {
+        Long maxPosition = applicationRepository.findMaxWaitlistPosition(eventId);
+        return maxPosition == null ? 1 : maxPosition + 1;
+    }
+    
+    // One joined query streamed into the response instead of findByUser plus lazy event loads
+    public RowStream getUserApplications() {
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         
-        return applicationRepository.findByUser(user).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return listingRowStreams.applicationsOfUser(user.getId());
     }
     
-    public List<ApplicationDTO.Response> getAllApplications() {
-        // Only admin can access all applications
-        checkAdminRole();
+    /**
+     * The current user's application status per event id, from a single query on
+     * the user index instead of loading every application and its event.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Application.ApplicationStatus> getMyApplicationStatuses() {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
         
-        return applicationRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        Map<Long, Application.ApplicationStatus> statuses = new HashMap<>();
+        applicationRepository.findStatusesByUserId(user.getId())
+                .forEach(row -> statuses.put(row.getEventId(), row.getStatus()));
+        return statuses;
     }
     
-    public List<ApplicationDTO.Response> getFilteredApplications(Long eventId, Application.ApplicationStatus status) {
+    @Transactional(readOnly = true)
+    public ApplicationDTO.PageResponse getFilteredApplications(ApplicationDTO.FilterRequest filter) {
         // Only admin can filter applications
         checkAdminRole();
         
-        if (eventId != null && status != null) {
-            return applicationRepository.findByEventIdAndStatus(eventId, status).stream()
-                    .map(this::convertToDTO)
-                    .collect(Collectors.toList());
-        } else if (eventId != null) {
-            Event event = eventRepository.findById(eventId)
-                    .orElseThrow(() -> new RuntimeException("Event not found"));
-            return applicationRepository.findByEvent(event).stream()
-                    .map(this::convertToDTO)
-                    .collect(Collectors.toList());
-        } else if (status != null) {
-            return applicationRepository.findByStatus(status).stream()
+        boolean descending = filter.getSort() == Sort.Direction.DESC;
+        int size = filter.getSize() == null ? defaultPageSize : Math.max(1, Math.min(filter.getSize(), maxPageSize));
+        
+        Specification<Application> criteria = Specification.where(hasEventId(filter.getEventId()))
+                .and(hasStatus(filter.getStatus()))
+                .and(hasUserId(filter.getUserId()))
+                .and(appliedFrom(filter.getFrom()))
+                .and(appliedBefore(filter.getTo()));
+        
+        boolean byDate = filter.getSortBy() == ApplicationDTO.SortKey.APPLICATION_DATE;
+        Sort order = byDate
+                ? Sort.by(filter.getSort(), "applicationDate", "id")
+                : Sort.by(filter.getSort(), "id");
+        Long totalCount = filter.isIncludeTotal() ? applicationRepository.count(criteria) : null;
+        
+        if (filter.isAll()) {
+            List<ApplicationDTO.Response> content = applicationRepository.findBy(
+                    criteria.and(fetchEventAndUser()), query -> query.sortBy(order).all()).stream()
                     .map(this::convertToDTO)
                     .collect(Collectors.toList());
-        } else {
-            return getAllApplications();
+            return new ApplicationDTO.PageResponse(content, null, totalCount);
         }
+        
+        // Fetch one extra row to learn whether another page exists without counting
+        Specification<Application> cursor = byDate
+                ? applicationDateAfter(filter.getAfter(), descending)
+                : idAfter(filter.getAfter(), descending);
+        List<Application> rows = applicationRepository.findBy(
+                criteria.and(cursor).and(fetchEventAndUser()),
+                query -> query.sortBy(order).limit(size + 1).all());
+        
+        boolean hasMore = rows.size() > size;
+        List<ApplicationDTO.Response> content = rows.stream()
+                .limit(size)
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+        Long nextCursor = hasMore ? content.get(content.size() - 1).getId() : null;
+        
+        return new ApplicationDTO.PageResponse(content, nextCursor, totalCount);
     }
     
+    @Transactional
     public ApplicationDTO.StatusResponse approveApplication(Long applicationId) {
         return updateApplicationStatus(applicationId, Application.ApplicationStatus.APPROVED, 
                                      "Application approved successfully");
     }
     
+    @Transactional
     public ApplicationDTO.StatusResponse rejectApplication(Long applicationId) {
         return updateApplicationStatus(applicationId, Application.ApplicationStatus.REJECTED, 
                                      "Application rejected successfully");
@@ -105,21 +242,99 @@ public class ApplicationService {
     private ApplicationDTO.StatusResponse updateApplicationStatus(Long applicationId, 
                                                                 Application.ApplicationStatus status, 
                                                                 String message) {
-        Application application = applicationRepository.findById(applicationId)
-                .orElseThrow(() -> new RuntimeException("Application not found"));
+        Application application = findWithEventLocked(applicationId);
         
         // Only admin can update application status
         checkAdminRole();
         
-        // Prevent changing status from approved/rejected back to pending
-        if (application.getStatus() != Application.ApplicationStatus.PENDING) {
+        return changeStatus(application, status, message);
+    }
+    
+    /**
+     * Locks the application's event before reading the application, so that its
+     * status and the event's seat count can't change until the transaction ends.
+     */
+    private Application findWithEventLocked(Long applicationId) {
+        Long eventId = applicationRepository.findEventIdById(applicationId)
+                .orElseThrow(() -> new RuntimeException("Application not found"));
+        eventRepository.findByIdForUpdate(eventId)
+                .orElseThrow(() -> new RuntimeException("Event not found"));
+        return applicationRepository.findById(applicationId)
+                .orElseThrow(() -> new RuntimeException("Application not found"));
+    }
+    
+    // Callers hold the event lock (findWithEventLocked)
+    private ApplicationDTO.StatusResponse changeStatus(Application application,
+                                                      Application.ApplicationStatus status,
+                                                      String message) {
+        Application.ApplicationStatus current = application.getStatus();
+        Event event = application.getEvent();
+        
+        // Rejected and withdrawn are final
+        if (current == Application.ApplicationStatus.REJECTED || current == Application.ApplicationStatus.WITHDRAWN) {
             throw new RuntimeException("Cannot change status of already processed application");
         }
+        if (status == Application.ApplicationStatus.APPROVED) {
+            if (current != Application.ApplicationStatus.PENDING) {
+                throw new RuntimeException("Only pending applications can be approved");
+            }
+            if (isFull(event)) {
+                throw new RuntimeException("Event is full");
+            }
+        }
         
         application.setStatus(status);
         applicationRepository.save(application);
+        outbox.statusChanged(application, current);
+        
+        ApplicationDTO.StatusResponse response = new ApplicationDTO.StatusResponse(message, status);
+        notifyAfterCommit(application.getUser().getId(), application.getId(), response);
+        
+        // A freed seat goes to the head of the waitlist
+        if (current == Application.ApplicationStatus.APPROVED) {
+            promoteFromWaitlist(event);
+        }
+        return response;
+    }
+    
+    private boolean isFull(Event event) {
+        return event.getCapacity() != null
+                && applicationRepository.countByEventAndStatus(event, Application.ApplicationStatus.APPROVED)
+                   >= event.getCapacity();
+    }
+    
+    public SseEmitter subscribeToStatusUpdates() {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
         
-        return new ApplicationDTO.StatusResponse(message, status);
+        return statusNotifier.subscribe(user.getId());
+    }
+    
+    private void notifyAfterCommit(Long userId, Long applicationId, ApplicationDTO.StatusResponse response) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            statusNotifier.publish(userId, applicationId, response);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                statusNotifier.publish(userId, applicationId, response);
+            }
+        });
+    }
+    
+    private void recordCoApplicationAfterCommit(Long eventId, List<Long> previousEventIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            coApplicationIndex.recordApplication(eventId, previousEventIds);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                coApplicationIndex.recordApplication(eventId, previousEventIds);
+            }
+        });
     }
     
     private void checkAdminRole() {
@@ -141,7 +356,8 @@ public class ApplicationService {
                 application.getUser().getUsername(),
                 application.getUser().getEmail(),
                 application.getApplicationDate(),
-                application.getStatus()
+                application.getStatus(),
+                application.getWaitlistPosition()
         );
     }
 }
\ No newline at end of file
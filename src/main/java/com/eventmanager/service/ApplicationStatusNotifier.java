@@ -0,0 +1,164 @@
+package com.eventmanager.service;
+
+import com.eventmanager.dto.ApplicationDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * In-memory registry of SSE subscribers keyed by user id. Emitters are async,
+ * so an idle subscription costs a map entry and a socket, not a thread.
+ * Events are queued per subscriber and written by a small dispatcher pool;
+ * a subscriber whose queue fills up is considered too slow and is dropped.
+ * Queues hold event factories because a built {@link SseEmitter.SseEventBuilder}
+ * is mutable and must not be sent twice.
+ */
+@Slf4j
+@Service
+public class ApplicationStatusNotifier {
+    
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService dispatcher = Executors.newFixedThreadPool(2, r -> {
+        Thread thread = new Thread(r, "sse-dispatcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    @Value("${notifications.sse.timeout:1800000}") // 30 minutes
+    private long timeout;
+    
+    @Value("${notifications.sse.max-connections-per-user:3}")
+    private int maxConnectionsPerUser;
+    
+    @Value("${notifications.sse.buffer-size:16}")
+    private int bufferSize;
+    
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeout);
+        Subscriber subscriber = new Subscriber(userId, emitter, new ArrayBlockingQueue<>(bufferSize));
+        List<Subscriber> evicted = new ArrayList<>();
+        // One atomic step, so that remove() can't drop the set between making room and adding to it
+        subscribers.compute(userId, (id, userSubscribers) -> {
+            if (userSubscribers == null) {
+                userSubscribers = new CopyOnWriteArraySet<>();
+            }
+            // Bound what a single user can hold open; the oldest connection makes room
+            while (userSubscribers.size() >= maxConnectionsPerUser) {
+                Subscriber oldest = userSubscribers.iterator().next();
+                userSubscribers.remove(oldest);
+                evicted.add(oldest);
+            }
+            userSubscribers.add(subscriber);
+            return userSubscribers;
+        });
+        evicted.forEach(oldest -> {
+            oldest.queue.clear();
+            oldest.emitter.complete();
+        });
+        
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        return emitter;
+    }
+    
+    public void publish(Long userId, Long applicationId, ApplicationDTO.StatusResponse status) {
+        Set<Subscriber> userSubscribers = subscribers.get(userId);
+        if (userSubscribers == null) {
+            return;
+        }
+        Supplier<SseEmitter.SseEventBuilder> event = () -> SseEmitter.event()
+                .id(String.valueOf(applicationId))
+                .name("application-status")
+                .data(status);
+        userSubscribers.forEach(subscriber -> enqueue(subscriber, event));
+    }
+    
+    @Scheduled(fixedRateString = "${notifications.sse.heartbeat-interval:25000}")
+    public void heartbeat() {
+        Supplier<SseEmitter.SseEventBuilder> ping = () -> SseEmitter.event().comment("ping");
+        subscribers.values().forEach(userSubscribers -> userSubscribers.forEach(subscriber -> {
+            // A heartbeat is only useful on an otherwise idle connection
+            if (subscriber.queue.isEmpty()) {
+                enqueue(subscriber, ping);
+            }
+        }));
+    }
+    
+    public int getSubscriberCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        subscribers.values().forEach(userSubscribers -> userSubscribers.forEach(s -> s.emitter.complete()));
+        subscribers.clear();
+    }
+    
+    private void enqueue(Subscriber subscriber, Supplier<SseEmitter.SseEventBuilder> event) {
+        if (!subscriber.queue.offer(event)) {
+            log.debug("Dropping slow SSE subscriber for user {}", subscriber.userId);
+            remove(subscriber);
+            subscriber.emitter.complete();
+            return;
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            dispatcher.execute(() -> drain(subscriber));
+        }
+    }
+    
+    private void drain(Subscriber subscriber) {
+        try {
+            Supplier<SseEmitter.SseEventBuilder> event;
+            while ((event = subscriber.queue.poll()) != null) {
+                subscriber.emitter.send(event.get());
+            }
+        } catch (IOException | RuntimeException e) {
+            // Client went away or the emitter broke; stop writing to it without stalling the dispatcher
+            log.debug("Dropping SSE subscriber for user {}: {}", subscriber.userId, e.getMessage());
+            remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // An event may have been queued between the last poll and releasing the flag
+        if (!subscriber.queue.isEmpty() && subscriber.draining.compareAndSet(false, true)) {
+            dispatcher.execute(() -> drain(subscriber));
+        }
+    }
+    
+    private void remove(Subscriber subscriber) {
+        subscriber.queue.clear();
+        subscribers.computeIfPresent(subscriber.userId, (id, userSubscribers) -> {
+            userSubscribers.remove(subscriber);
+            return userSubscribers.isEmpty() ? null : userSubscribers;
+        });
+    }
+    
+    private record Subscriber(Long userId, SseEmitter emitter, Queue<Supplier<SseEmitter.SseEventBuilder>> queue,
+                              AtomicBoolean draining) {
+        
+        Subscriber(Long userId, SseEmitter emitter, Queue<Supplier<SseEmitter.SseEventBuilder>> queue) {
+            this(userId, emitter, queue, new AtomicBoolean());
+        }
+    }
+}
@@ -4,11 +4,11 @@ import com.eventmanager.dto.AuthDTO;
 import com.eventmanager.entity.User;
 import com.eventmanager.repository.UserRepository;
 import com.eventmanager.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -20,13 +20,16 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
+    private final UserExistenceFilter userExistenceFilter;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationList revocationList;
     
     public AuthDTO.AuthResponse register(AuthDTO.RegisterRequest request) {
-        if (userRepository.existsByUsername(request.getUsername())) {
+        if (userExistenceFilter.usernameExists(request.getUsername())) {
             throw new RuntimeException("Username already exists");
         }
         
-        if (userRepository.existsByEmail(request.getEmail())) {
+        if (userExistenceFilter.emailExists(request.getEmail())) {
             throw new RuntimeException("Email already exists");
         }
         
@@ -37,7 +40,7 @@ public class AuthService {
                 .role(User.UserRole.USER)
                 .build();
         
-        User savedUser = userRepository.save(user);
+        User savedUser = userExistenceFilter.saveNew(user);
         
         return new AuthDTO.AuthResponse(
             savedUser.getId(),
@@ -50,29 +53,57 @@ public class AuthService {
     
     public AuthDTO.AuthResponse login(AuthDTO.LoginRequest request) {
         try {
-            Authentication authentication = authenticationManager.authenticate(
+            authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
             );
             
-            UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-            String jwt = jwtUtil.generateToken(userDetails);
-            
             User user = userRepository.findByUsername(request.getUsername())
                     .orElseThrow(() -> new RuntimeException("User not found"));
             
-            AuthDTO.AuthResponse response = new AuthDTO.AuthResponse(
-                user.getId(),
-                user.getUsername(),
-                user.getEmail(),
-                user.getRole().name(),
-                "Login successful"
-            );
-            response.setToken(jwt);
-            
-            return response;
+            return tokens(user, refreshTokenService.issue(user), "Login successful");
             
         } catch (Exception e) {
             throw new RuntimeException("Invalid username or password");
         }
     }
+    
+    /**
+     * A new access token and the successor of {@code refreshToken}, which cannot be used again.
+     */
+    public AuthDTO.AuthResponse refresh(String refreshToken) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken)
+                .orElseThrow(() -> new RuntimeException("Refresh token was already used; please log in again"));
+        return tokens(rotation.user(), rotation.refreshToken(), "Token refreshed");
+    }
+    
+    /**
+     * Ends the session of {@code refreshToken} and, if given, revokes the access token
+     * the request was made with.
+     */
+    public AuthDTO.AuthResponse logout(String refreshToken, String accessToken) {
+        refreshTokenService.revoke(refreshToken);
+        if (accessToken != null) {
+            try {
+                Claims claims = jwtUtil.extractAllClaims(accessToken);
+                revocationList.revokeToken(claims.getId(), claims.getExpiration());
+            } catch (JwtException e) {
+                // Already expired or not ours; nothing to revoke
+            }
+        }
+        return new AuthDTO.AuthResponse("Logged out");
+    }
+    
+    private AuthDTO.AuthResponse tokens(User user, String refreshToken, String message) {
+        AuthDTO.AuthResponse response = new AuthDTO.AuthResponse(
+            user.getId(),
+            user.getUsername(),
+            user.getEmail(),
+            user.getRole().name(),
+            message
+        );
+        response.setToken(jwtUtil.generateToken(user.getUsername(), user.getRole().name()));
+        response.setExpiresIn(jwtUtil.getExpiration() / 1000);
+        response.setRefreshToken(refreshToken);
+        return response;
+    }
 }
\ No newline at end of file
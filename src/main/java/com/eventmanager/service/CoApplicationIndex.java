@@ -0,0 +1,278 @@
+package com.eventmanager.service;
+
+import com.eventmanager.util.LongIntHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * "Users who applied to X also applied to Y" counts, kept as a sparse matrix of
+ * primitive maps: for each event, how many users applied to it together with
+ * each other event. New applications update it incrementally; a periodic full
+ * rebuild from {@code event_applications} corrects any drift. Applications
+ * recorded while a rebuild runs are replayed onto the new snapshot before it
+ * replaces the old one.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CoApplicationIndex {
+    
+    private static final String APPLICATIONS_BY_USER =
+            "SELECT user_id, event_id FROM event_applications ORDER BY user_id, id DESC";
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    private volatile Snapshot snapshot = new Snapshot(new ConcurrentHashMap<>(), new LongIntHashMap());
+    
+    // One rebuild at a time, without blocking recordApplication while it scans
+    private final Object rebuildLock = new Object();
+    
+    // Applications recorded since the running rebuild started; null when none is running
+    private List<Delta> duringRebuild;
+    
+    // Power users would add O(k^2) pairs; only their most recent applications count
+    @Value("${recommendations.max-events-per-user:200}")
+    private int maxEventsPerUser;
+    
+    // Rows fetched per round trip; Integer.MIN_VALUE makes Connector/J stream them one by one
+    @Value("${recommendations.fetch-size:1000}")
+    private int fetchSize;
+    
+    /**
+     * Records that a user applied to {@code eventId}, having already applied to {@code otherEventIds}.
+     */
+    public void recordApplication(long eventId, Collection<Long> otherEventIds) {
+        Snapshot current;
+        synchronized (this) {
+            if (duringRebuild != null) {
+                duringRebuild.add(new Delta(eventId, otherEventIds));
+            }
+            current = snapshot;
+        }
+        apply(current, eventId, otherEventIds);
+    }
+    
+    private void apply(Snapshot current, long eventId, Collection<Long> otherEventIds) {
+        synchronized (current.applicants) {
+            current.applicants.addTo(eventId, 1);
+        }
+        int counted = 0;
+        for (Long other : otherEventIds) {
+            if (other == eventId || counted++ >= maxEventsPerUser) {
+                continue;
+            }
+            increment(current, eventId, other);
+            increment(current, other, eventId);
+        }
+    }
+    
+    /**
+     * Cosine-style similarity of {@code candidate} to the events a user applied to.
+     */
+    public double score(long candidate, Collection<Long> appliedEventIds) {
+        Snapshot current = snapshot;
+        int candidateApplicants = applicants(current, candidate);
+        if (candidateApplicants == 0) {
+            return 0;
+        }
+        double score = 0;
+        for (Long applied : appliedEventIds) {
+            LongIntHashMap row = current.coCounts.get(applied);
+            if (row == null) {
+                continue;
+            }
+            int together;
+            synchronized (row) {
+                together = row.get(candidate);
+            }
+            if (together > 0) {
+                score += together / Math.sqrt((double) candidateApplicants * applicants(current, applied));
+            }
+        }
+        return score;
+    }
+    
+    public int applicants(long eventId) {
+        return applicants(snapshot, eventId);
+    }
+    
+    @Scheduled(fixedDelayString = "${recommendations.rebuild-interval:3600000}",
+               initialDelayString = "${recommendations.initial-delay:0}")
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            long started = System.currentTimeMillis();
+            // Started before the scan, so an application committed just as it begins may count
+            // twice until the next rebuild; one committed during the scan is never lost
+            synchronized (this) {
+                duringRebuild = new ArrayList<>();
+            }
+            List<long[]> eventsByUser;
+            Snapshot rebuilt;
+            try {
+                eventsByUser = loadEventsByUser();
+                rebuilt = ForkJoinPool.commonPool().invoke(new BuildTask(eventsByUser, 0, eventsByUser.size()));
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    duringRebuild = null;
+                }
+                throw e;
+            }
+            synchronized (this) {
+                for (Delta delta : duringRebuild) {
+                    apply(rebuilt, delta.eventId(), delta.otherEventIds());
+                }
+                duringRebuild = null;
+                snapshot = rebuilt;
+            }
+            log.info("Rebuilt co-application index for {} users and {} events in {} ms",
+                    eventsByUser.size(), rebuilt.coCounts.size(), System.currentTimeMillis() - started);
+        }
+    }
+    
+    private List<long[]> loadEventsByUser() {
+        UserEventsCollector collector = new UserEventsCollector(maxEventsPerUser);
+        // Streamed rather than buffered by the driver: the whole table passes through here
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(APPLICATIONS_BY_USER);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, (RowCallbackHandler) rs -> collector.accept(rs.getLong(1), rs.getLong(2)));
+        return collector.finish();
+    }
+    
+    private static void increment(Snapshot snapshot, long eventId, long otherEventId) {
+        LongIntHashMap row = snapshot.coCounts.computeIfAbsent(eventId, id -> new LongIntHashMap());
+        synchronized (row) {
+            row.addTo(otherEventId, 1);
+        }
+    }
+    
+    private static int applicants(Snapshot snapshot, long eventId) {
+        synchronized (snapshot.applicants) {
+            return snapshot.applicants.get(eventId);
+        }
+    }
+    
+    /**
+     * Groups the user-ordered result set into one capped {@code long[]} per user
+     * without boxing each row.
+     */
+    private static class UserEventsCollector {
+        
+        private final int cap;
+        private final List<long[]> eventsByUser = new ArrayList<>();
+        private long userId = -1;
+        private long[] events = new long[16];
+        private int count;
+        
+        UserEventsCollector(int cap) {
+            this.cap = cap;
+        }
+        
+        void accept(long rowUserId, long eventId) {
+            if (rowUserId != userId) {
+                flush();
+                userId = rowUserId;
+            }
+            if (count < cap) {
+                if (count == events.length) {
+                    events = Arrays.copyOf(events, events.length * 2);
+                }
+                events[count++] = eventId;
+            }
+        }
+        
+        List<long[]> finish() {
+            flush();
+            return eventsByUser;
+        }
+        
+        private void flush() {
+            if (count > 0) {
+                eventsByUser.add(Arrays.copyOf(events, count));
+                count = 0;
+            }
+        }
+    }
+    
+    private record Delta(long eventId, Collection<Long> otherEventIds) {
+    }
+    
+    private record Snapshot(Map<Long, LongIntHashMap> coCounts, LongIntHashMap applicants) {
+    }
+    
+    /**
+     * Splits users across the pool; each leaf counts pairs for its users and
+     * partial matrices are summed on the way back up.
+     */
+    private static class BuildTask extends RecursiveTask<Snapshot> {
+        
+        private static final int LEAF_SIZE = 2_000;
+        
+        private final List<long[]> eventsByUser;
+        private final int from;
+        private final int to;
+        
+        BuildTask(List<long[]> eventsByUser, int from, int to) {
+            this.eventsByUser = eventsByUser;
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected Snapshot compute() {
+            if (to - from <= LEAF_SIZE) {
+                return countPairs();
+            }
+            int middle = (from + to) >>> 1;
+            BuildTask left = new BuildTask(eventsByUser, from, middle);
+            left.fork();
+            Snapshot right = new BuildTask(eventsByUser, middle, to).compute();
+            return merge(left.join(), right);
+        }
+        
+        private Snapshot countPairs() {
+            Map<Long, LongIntHashMap> coCounts = new ConcurrentHashMap<>();
+            LongIntHashMap applicants = new LongIntHashMap();
+            for (int u = from; u < to; u++) {
+                long[] events = eventsByUser.get(u);
+                for (int i = 0; i < events.length; i++) {
+                    applicants.addTo(events[i], 1);
+                    LongIntHashMap row = coCounts.computeIfAbsent(events[i], id -> new LongIntHashMap());
+                    for (int j = 0; j < events.length; j++) {
+                        if (i != j) {
+                            row.addTo(events[j], 1);
+                        }
+                    }
+                }
+            }
+            return new Snapshot(coCounts, applicants);
+        }
+        
+        private static Snapshot merge(Snapshot into, Snapshot from) {
+            from.coCounts.forEach((eventId, row) -> {
+                LongIntHashMap target = into.coCounts.putIfAbsent(eventId, row);
+                if (target != null) {
+                    target.addAll(row);
+                }
+            });
+            into.applicants.addAll(from.applicants);
+            return into;
+        }
+    }
+}
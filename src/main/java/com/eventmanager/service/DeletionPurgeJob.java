@@ -0,0 +1,82 @@
+package com.eventmanager.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Physically removes soft-deleted users and events together with the rows that
+ * reference them, and refresh tokens that have expired. Each statement deletes
+ * at most one batch and runs in its own short transaction, with a pause in
+ * between, so a large cascade never holds locks for long or competes with
+ * request traffic.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DeletionPurgeJob {
+    
+    // Native SQL on purpose: the entity-level soft-delete restriction would hide these rows
+    private static final String[] PURGE_STATEMENTS = {
+        "DELETE FROM event_applications WHERE event_id IN (SELECT id FROM events WHERE deleted = true) LIMIT ?",
+        "DELETE FROM event_applications WHERE user_id IN (SELECT id FROM users WHERE deleted = true) LIMIT ?",
+        "DELETE FROM refresh_tokens WHERE expires_at < CURRENT_TIMESTAMP LIMIT ?",
+        "DELETE FROM refresh_tokens WHERE user_id IN (SELECT id FROM users WHERE deleted = true) LIMIT ?",
+        "DELETE FROM events WHERE deleted = true " +
+            "AND NOT EXISTS (SELECT 1 FROM event_applications a WHERE a.event_id = events.id) LIMIT ?",
+        "DELETE FROM users WHERE deleted = true " +
+            "AND NOT EXISTS (SELECT 1 FROM events e WHERE e.organizer_id = users.id) " +
+            "AND NOT EXISTS (SELECT 1 FROM event_applications a WHERE a.user_id = users.id) " +
+            "AND NOT EXISTS (SELECT 1 FROM refresh_tokens r WHERE r.user_id = users.id) LIMIT ?"
+    };
+    private static final String[] TABLES = {
+        "event_applications", "event_applications", "refresh_tokens", "refresh_tokens", "events", "users"
+    };
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    
+    @Value("${purge.batch-size:1000}")
+    private int batchSize;
+    
+    @Value("${purge.batch-pause:50}")
+    private long batchPauseMillis;
+    
+    /**
+     * Runs every statement until it finds nothing left to delete, in dependency order.
+     *
+     * @return total rows removed
+     */
+    @Scheduled(fixedDelayString = "${purge.interval:10000}")
+    public int purge() {
+        int total = 0;
+        for (int i = 0; i < PURGE_STATEMENTS.length; i++) {
+            int deleted;
+            do {
+                deleted = jdbcTemplate.update(PURGE_STATEMENTS[i], batchSize);
+                if (deleted > 0) {
+                    meterRegistry.counter("eventmanager.purge.rows", "table", TABLES[i]).increment(deleted);
+                    total += deleted;
+                    pause();
+                }
+            } while (deleted == batchSize);
+        }
+        if (total > 0) {
+            log.info("Purged {} soft-deleted rows", total);
+        }
+        return total;
+    }
+    
+    private void pause() {
+        try {
+            Thread.sleep(batchPauseMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Purge interrupted", e);
+        }
+    }
+}
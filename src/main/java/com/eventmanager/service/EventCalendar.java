@@ -0,0 +1,178 @@
+package com.eventmanager.service;
+
+import com.eventmanager.cache.CacheInvalidation;
+import com.eventmanager.cache.CacheInvalidationBus;
+import com.eventmanager.cache.TwoTierCacheManager;
+import com.eventmanager.config.CacheConfig;
+import com.eventmanager.dto.EventDTO;
+import com.eventmanager.repository.EventRepository;
+import com.eventmanager.util.IntervalTree;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory interval index of events that had not expired when it was last
+ * loaded, keyed by their {@code [uploadDate, expiryDate]} window. Any event
+ * overlapping a range that starts on or after that load date must still be in
+ * the index, so such queries are answered here; anything reaching further back
+ * goes to the database.
+ * <p>
+ * Local writes are applied incrementally once their transaction commits. Writes
+ * on other nodes arrive as invalidations of the active events cache and trigger
+ * a background reload, as does a daily job that drops expired events.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EventCalendar {
+    
+    private static final int MAX_RELOAD_ATTEMPTS = 3;
+    
+    private final EventRepository eventRepository;
+    private final CacheInvalidationBus invalidationBus;
+    private final TwoTierCacheManager cacheManager;
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Consumer<CacheInvalidation> listener = this::onInvalidation;
+    private IntervalTree<EventDTO.Response> tree = new IntervalTree<>();
+    // Null until loaded, and again whenever the index is known to be stale
+    private LocalDate coveredFrom;
+    private long version;
+    
+    @PostConstruct
+    public void subscribe() {
+        invalidationBus.subscribe(listener);
+    }
+    
+    @PreDestroy
+    public void close() {
+        invalidationBus.unsubscribe(listener);
+    }
+    
+    /**
+     * Events whose window overlaps {@code [from, to]}, ordered by upload date, or
+     * empty if the index cannot answer for that range.
+     */
+    public Optional<List<EventDTO.Response>> find(LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            if (coveredFrom == null || from.isBefore(coveredFrom)) {
+                return Optional.empty();
+            }
+            return Optional.of(tree.overlapping(from.toEpochDay(), to.toEpochDay()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public void put(EventDTO.Response event) {
+        afterCommit(() -> write(() -> {
+            if (coveredFrom != null && event.getExpiryDate().isBefore(coveredFrom)) {
+                tree.remove(event.getId());
+            } else {
+                tree.put(event.getId(), event.getUploadDate().toEpochDay(), event.getExpiryDate().toEpochDay(), event);
+            }
+        }));
+    }
+    
+    public void remove(Long eventId) {
+        afterCommit(() -> write(() -> tree.remove(eventId)));
+    }
+    
+    /**
+     * Stops answering from the index and rebuilds it in the background, for
+     * changes that touch many events at once (such as renaming or deleting an organizer).
+     */
+    public void invalidate() {
+        afterCommit(() -> {
+            write(() -> coveredFrom = null);
+            CompletableFuture.runAsync(this::reload).exceptionally(e -> {
+                log.warn("Event calendar reload failed", e);
+                return null;
+            });
+        });
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${events.calendar.reload-cron:0 5 0 * * *}")
+    public void reload() {
+        for (int attempt = 1; attempt <= MAX_RELOAD_ATTEMPTS; attempt++) {
+            long startVersion = currentVersion();
+            LocalDate today = LocalDate.now();
+            IntervalTree<EventDTO.Response> rebuilt = new IntervalTree<>();
+            eventRepository.findActiveEvents(today).stream()
+                    .map(EventService::convertToDTO)
+                    .forEach(event -> rebuilt.put(event.getId(), event.getUploadDate().toEpochDay(),
+                            event.getExpiryDate().toEpochDay(), event));
+            
+            lock.writeLock().lock();
+            try {
+                // A write that landed while we were reading may be missing from the snapshot
+                if (version == startVersion) {
+                    tree = rebuilt;
+                    coveredFrom = today;
+                    log.debug("Loaded {} active events into the calendar", rebuilt.size());
+                    return;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        log.warn("Event calendar kept changing during reload; answering range queries from the database");
+    }
+    
+    private void onInvalidation(CacheInvalidation invalidation) {
+        if (CacheConfig.ACTIVE_EVENTS.equals(invalidation.cacheName())
+                && !cacheManager.getNodeId().equals(invalidation.originNodeId())) {
+            invalidate();
+        }
+    }
+    
+    private long currentVersion() {
+        lock.readLock().lock();
+        try {
+            return version;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private void write(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+            version++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
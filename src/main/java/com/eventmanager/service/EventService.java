@@ -1,16 +1,32 @@
 package com.eventmanager.service;
 
+import com.eventmanager.config.CacheConfig;
 import com.eventmanager.dto.EventDTO;
+import com.eventmanager.dto.RowStream;
+import com.eventmanager.entity.Application.ApplicationStatus;
 import com.eventmanager.entity.Event;
 import com.eventmanager.entity.User;
 import com.eventmanager.repository.EventRepository;
+import com.eventmanager.repository.ListingRowStreams;
 import com.eventmanager.repository.UserRepository;
+import com.eventmanager.util.BatchLoader;
+import com.eventmanager.util.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,7 +35,35 @@ public class EventService {
     
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
+    private final ApplicationService applicationService;
+    private final MeterRegistry meterRegistry;
+    private final EventCalendar eventCalendar;
+    private final ListingRowStreams listingRowStreams;
+    private final PlatformTransactionManager transactionManager;
     
+    // Only the caller that runs a shared load opens a transaction; the ones waiting on it
+    // must not hold a pooled connection, so the loading methods are not @Transactional
+    private TransactionTemplate loadTransaction;
+    
+    // Concurrent readers of the same event or listing share one database load
+    private final SingleFlight<Long, EventDTO.Response> eventLoads = new SingleFlight<>();
+    private final SingleFlight<LocalDate, List<EventDTO.Response>> activeEventLoads = new SingleFlight<>();
+    
+    @Value("${events.batch.max-ids:200}")
+    private int maxBatchIds;
+    
+    @Value("${events.batch.query-size:100}")
+    private int batchQuerySize;
+    
+    @PostConstruct
+    public void init() {
+        loadTransaction = new TransactionTemplate(transactionManager);
+        loadTransaction.setReadOnly(true);
+        eventLoads.bindTo(meterRegistry, "event-by-id");
+        activeEventLoads.bindTo(meterRegistry, "active-events");
+    }
+    
+    @CacheEvict(cacheNames = CacheConfig.ACTIVE_EVENTS, allEntries = true)
     public EventDTO.Response createEvent(EventDTO.CreateRequest request) {
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
         User organizer = userRepository.findByUsername(username)
@@ -30,31 +74,95 @@ public class EventService {
                 .description(request.getDescription())
                 .uploadDate(LocalDate.now())
                 .expiryDate(request.getExpiryDate())
+                .capacity(request.getCapacity())
                 .organizer(organizer)
                 .build();
         
         Event savedEvent = eventRepository.save(event);
-        return convertToDTO(savedEvent);
+        EventDTO.Response response = convertToDTO(savedEvent);
+        eventCalendar.put(response);
+        return response;
     }
     
-    public List<EventDTO.Response> getAllEvents() {
-        return eventRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    // Streamed from JDBC into the response; the full table is too big to hold as DTOs
+    public RowStream getAllEvents() {
+        return listingRowStreams.allEvents();
     }
     
+    // Keyed by date so that yesterday's listing is not served after midnight
+    @Cacheable(cacheNames = CacheConfig.ACTIVE_EVENTS, key = "T(java.time.LocalDate).now()")
     public List<EventDTO.Response> getActiveEvents() {
-        return eventRepository.findActiveEvents(LocalDate.now()).stream()
-                .map(this::convertToDTO)
+        LocalDate today = LocalDate.now();
+        return activeEventLoads.load(today, () -> loadTransaction.execute(status ->
+                eventRepository.findActiveEvents(today).stream()
+                        .map(EventService::convertToDTO)
+                        .collect(Collectors.toList())));
+    }
+    
+    /**
+     * Events open at some point in {@code [from, to]}, or with {@code expiring}
+     * set, events whose expiry date falls in that range.
+     */
+    @Transactional(readOnly = true)
+    public List<EventDTO.Response> getEventsInRange(LocalDate from, LocalDate to, boolean expiring) {
+        if (from.isAfter(to)) {
+            throw new RuntimeException("'from' must not be after 'to'");
+        }
+        if (!expiring) {
+            Optional<List<EventDTO.Response>> indexed = eventCalendar.find(from, to);
+            if (indexed.isPresent()) {
+                return indexed.get();
+            }
+        }
+        List<Event> events = expiring
+                ? eventRepository.findExpiringBetween(from, to)
+                : eventRepository.findOverlapping(from, to);
+        return events.stream()
+                .map(EventService::convertToDTO)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Copies of {@code events} carrying the caller's application status. The
+     * listings themselves are cached and shared, so they are never modified.
+     */
+    public List<EventDTO.Response> withMyApplicationStatus(List<EventDTO.Response> events) {
+        Map<Long, ApplicationStatus> statuses = applicationService.getMyApplicationStatuses();
+        if (statuses.isEmpty()) {
+            return events;
+        }
+        return events.stream()
+                .map(event -> statuses.containsKey(event.getId())
+                        ? event.withMyApplicationStatus(statuses.get(event.getId()))
+                        : event)
                 .collect(Collectors.toList());
     }
     
     public EventDTO.Response getEventById(Long id) {
-        Event event = eventRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Event not found"));
-        return convertToDTO(event);
+        return eventLoads.load(id, () -> loadTransaction.execute(status ->
+                eventRepository.findWithOrganizerById(id)
+                        .map(EventService::convertToDTO)
+                        .orElseThrow(() -> new RuntimeException("Event not found"))));
     }
     
+    /**
+     * Events for {@code ids} in the order requested, in one query per
+     * {@code events.batch.query-size} distinct ids. Unknown and deleted ids are skipped.
+     */
+    @Transactional(readOnly = true)
+    public List<EventDTO.Response> getEventsByIds(List<Long> ids) {
+        if (ids.size() > maxBatchIds) {
+            throw new RuntimeException("At most " + maxBatchIds + " ids per request");
+        }
+        BatchLoader<Long, EventDTO.Response> loader = new BatchLoader<>(
+                chunk -> eventRepository.findWithOrganizerByIdIn(chunk).stream()
+                        .map(EventService::convertToDTO)
+                        .toList(),
+                EventDTO.Response::getId, batchQuerySize);
+        return loader.loadMany(ids);
+    }
+    
+    @CacheEvict(cacheNames = CacheConfig.ACTIVE_EVENTS, allEntries = true)
     public EventDTO.Response updateEvent(Long id, EventDTO.UpdateRequest request) {
         Event event = eventRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Event not found"));
@@ -74,11 +182,24 @@ public class EventService {
         if (request.getExpiryDate() != null) {
             event.setExpiryDate(request.getExpiryDate());
         }
+        boolean capacityRaised = request.getCapacity() != null && event.getCapacity() != null
+                && request.getCapacity() > event.getCapacity();
+        if (request.getCapacity() != null) {
+            event.setCapacity(request.getCapacity());
+        }
         
         Event updatedEvent = eventRepository.save(event);
-        return convertToDTO(updatedEvent);
+        if (capacityRaised) {
+            applicationService.promoteFromWaitlist(updatedEvent);
+        }
+        EventDTO.Response response = convertToDTO(updatedEvent);
+        eventCalendar.put(response);
+        return response;
     }
     
+    // Soft delete; DeletionPurgeJob removes the row and its applications later
+    @CacheEvict(cacheNames = CacheConfig.ACTIVE_EVENTS, allEntries = true)
+    @Transactional
     public void deleteEvent(Long id) {
         Event event = eventRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Event not found"));
@@ -89,10 +210,12 @@ public class EventService {
             throw new RuntimeException("Only the organizer can delete this event");
         }
         
-        eventRepository.deleteById(id);
+        event.setDeleted(true);
+        eventRepository.save(event);
+        eventCalendar.remove(id);
     }
     
-    private EventDTO.Response convertToDTO(Event event) {
+    static EventDTO.Response convertToDTO(Event event) {
         return new EventDTO.Response(
             event.getId(),
             event.getTitle(),
@@ -100,7 +223,9 @@ public class EventService {
             event.getUploadDate(),
             event.getExpiryDate(),
             event.getOrganizer().getId(),
-            event.getOrganizer().getUsername()
+            event.getOrganizer().getUsername(),
+            event.getCapacity(),
+            null
         );
     }
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+package com.eventmanager.service;
+
+import com.eventmanager.dto.EventDTO;
+import com.eventmanager.entity.User;
+import com.eventmanager.repository.ApplicationRepository;
+import com.eventmanager.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+public class RecommendationService {
+    
+    private final EventService eventService;
+    private final UserRepository userRepository;
+    private final ApplicationRepository applicationRepository;
+    private final CoApplicationIndex coApplicationIndex;
+    
+    @Value("${recommendations.max-limit:100}")
+    private int maxLimit;
+    
+    /**
+     * Ranks active events the current user has not applied to by similarity to the
+     * events they have; ties (and users with no history) fall back to popularity.
+     */
+    public List<EventDTO.Response> getRecommendedEvents(int limit) {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        
+        Set<Long> applied = new HashSet<>(applicationRepository.findEventIdsByUserId(user.getId()));
+        List<Scored> candidates = new ArrayList<>();
+        for (EventDTO.Response event : eventService.getActiveEvents()) {
+            if (!applied.contains(event.getId())) {
+                candidates.add(new Scored(event,
+                        coApplicationIndex.score(event.getId(), applied),
+                        coApplicationIndex.applicants(event.getId())));
+            }
+        }
+        
+        return candidates.stream()
+                .sorted(Comparator.comparingDouble(Scored::score).reversed()
+                        .thenComparing(Comparator.comparingInt(Scored::applicants).reversed())
+                        .thenComparing(scored -> scored.event().getId()))
+                .limit(Math.max(1, Math.min(limit, maxLimit)))
+                .map(Scored::event)
+                .toList();
+    }
+    
+    private record Scored(EventDTO.Response event, double score, int applicants) {
+    }
+}
@@ -0,0 +1,111 @@
+package com.eventmanager.service;
+
+import com.eventmanager.entity.RefreshToken;
+import com.eventmanager.entity.User;
+import com.eventmanager.repository.RefreshTokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Issues and rotates refresh tokens. Only a hash of each token is stored, so a
+ * leaked table cannot be replayed.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenService {
+    
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenRevocationList revocationList;
+    private final SecureRandom random = new SecureRandom();
+    
+    @Value("${jwt.refresh-expiration:1209600000}") // 14 days
+    private long refreshExpiration;
+    
+    /**
+     * Starts a new token family for {@code user}.
+     */
+    @Transactional
+    public String issue(User user) {
+        return create(user, UUID.randomUUID().toString());
+    }
+    
+    /**
+     * Exchanges {@code token} for its successor and returns the user it belongs to
+     * together with the new token. A token that was already used is taken as stolen:
+     * its family and the user's access tokens are revoked and the result is empty.
+     */
+    @Transactional
+    public Optional<Rotation> rotate(String token) {
+        RefreshToken current = refreshTokenRepository.findWithUserByTokenHash(hash(token))
+                .filter(candidate -> candidate.getExpiresAt().isAfter(LocalDateTime.now()))
+                .orElseThrow(() -> new RuntimeException("Invalid refresh token"));
+        User user = current.getUser();
+        
+        if (current.isUsed() || refreshTokenRepository.markUsed(current.getId()) == 0) {
+            log.warn("Refresh token reuse for user {}; revoking its family", user.getUsername());
+            refreshTokenRepository.deleteByFamilyId(current.getFamilyId());
+            revocationList.revokeUser(user.getUsername());
+            return Optional.empty();
+        }
+        return Optional.of(new Rotation(user, create(user, current.getFamilyId())));
+    }
+    
+    /**
+     * Ends the session {@code token} belongs to. Unknown tokens are ignored.
+     */
+    @Transactional
+    public void revoke(String token) {
+        refreshTokenRepository.findWithUserByTokenHash(hash(token))
+                .ifPresent(current -> refreshTokenRepository.deleteByFamilyId(current.getFamilyId()));
+    }
+    
+    /**
+     * Ends every session of {@code user}, including access tokens already handed out.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void revokeAll(User user) {
+        refreshTokenRepository.deleteByUserId(user.getId());
+        revocationList.revokeUser(user.getUsername());
+    }
+    
+    private String create(User user, String familyId) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(hash(token))
+                .familyId(familyId)
+                .user(user)
+                .expiresAt(LocalDateTime.now().plus(Duration.ofMillis(refreshExpiration)))
+                .build());
+        return token;
+    }
+    
+    static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    public record Rotation(User user, String refreshToken) {
+    }
+}
@@ -0,0 +1,138 @@
+package com.eventmanager.service;
+
+import com.eventmanager.cache.CacheInvalidation;
+import com.eventmanager.cache.CacheInvalidationBus;
+import com.eventmanager.cache.TwoTierCacheManager;
+import com.eventmanager.util.JwtUtil;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Revoked access tokens, remembered only until they would have expired anyway.
+ * Token ids are grouped into buckets by expiry time, so a lookup is one probe in
+ * the token's own bucket and pruning drops whole buckets. Revoking all of a user's
+ * tokens keeps a cut-off time per username for one access-token lifetime.
+ * <p>
+ * Revocations are shared with other nodes over the cache invalidation bus, which
+ * is at-most-once; the access-token lifetime bounds what a lost message can cost.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenRevocationList {
+    
+    private static final String CHANNEL = "token-revocations";
+    private static final String TOKEN = "token";
+    private static final String USER = "user";
+    
+    private final JwtUtil jwtUtil;
+    private final CacheInvalidationBus invalidationBus;
+    private final TwoTierCacheManager cacheManager;
+    private final MeterRegistry meterRegistry;
+    
+    private final Map<Long, Set<String>> tokenBuckets = new ConcurrentHashMap<>();
+    private final Map<String, Long> userCutoffs = new ConcurrentHashMap<>();
+    private final Consumer<CacheInvalidation> listener = this::onInvalidation;
+    
+    @Value("${jwt.revocation.bucket-width:60000}")
+    private long bucketWidthMillis;
+    
+    @PostConstruct
+    public void subscribe() {
+        invalidationBus.subscribe(listener);
+        Gauge.builder("eventmanager.auth.revocations", this, TokenRevocationList::size)
+                .description("Revoked token ids and user cut-offs held in memory")
+                .register(meterRegistry);
+    }
+    
+    @PreDestroy
+    public void close() {
+        invalidationBus.unsubscribe(listener);
+    }
+    
+    public void revokeToken(String tokenId, Date expiresAt) {
+        addToken(tokenId, expiresAt.getTime());
+        publish(TOKEN, expiresAt.getTime(), tokenId);
+    }
+    
+    /**
+     * Revokes every access token issued to {@code username} up to now.
+     */
+    public void revokeUser(String username) {
+        long now = System.currentTimeMillis();
+        addUserCutoff(username, now);
+        publish(USER, now, username);
+    }
+    
+    public boolean isRevoked(String tokenId, String username, Date issuedAt, Date expiresAt) {
+        Set<String> bucket = tokenBuckets.get(bucketOf(expiresAt.getTime()));
+        if (bucket != null && bucket.contains(tokenId)) {
+            return true;
+        }
+        // Issue times have whole-second precision; a token from the same second counts as revoked
+        Long cutoff = userCutoffs.get(username);
+        return cutoff != null && issuedAt.getTime() <= cutoff;
+    }
+    
+    @Scheduled(fixedRateString = "${jwt.revocation.prune-interval:60000}")
+    public void prune() {
+        long now = System.currentTimeMillis();
+        tokenBuckets.keySet().removeIf(bucket -> (bucket + 1) * bucketWidthMillis <= now);
+        userCutoffs.values().removeIf(cutoff -> cutoff + jwtUtil.getExpiration() <= now);
+    }
+    
+    public int size() {
+        return tokenBuckets.values().stream().mapToInt(Set::size).sum() + userCutoffs.size();
+    }
+    
+    private void addToken(String tokenId, long expiresAtMillis) {
+        if (expiresAtMillis > System.currentTimeMillis()) {
+            tokenBuckets.computeIfAbsent(bucketOf(expiresAtMillis), bucket -> ConcurrentHashMap.newKeySet())
+                    .add(tokenId);
+        }
+    }
+    
+    private void addUserCutoff(String username, long cutoff) {
+        userCutoffs.merge(username, cutoff, Math::max);
+    }
+    
+    private long bucketOf(long expiresAtMillis) {
+        return expiresAtMillis / bucketWidthMillis;
+    }
+    
+    private void publish(String kind, long time, String value) {
+        invalidationBus.publish(new CacheInvalidation(CHANNEL, kind + ":" + time + ":" + value,
+                cacheManager.getNodeId()));
+    }
+    
+    private void onInvalidation(CacheInvalidation invalidation) {
+        if (!CHANNEL.equals(invalidation.cacheName()) || invalidation.clearsAll()
+                || cacheManager.getNodeId().equals(invalidation.originNodeId())) {
+            return;
+        }
+        String[] parts = invalidation.key().split(":", 3);
+        if (parts.length != 3) {
+            log.warn("Ignoring malformed token revocation {}", invalidation.key());
+            return;
+        }
+        long time = Long.parseLong(parts[1]);
+        if (TOKEN.equals(parts[0])) {
+            addToken(parts[2], time);
+        } else if (USER.equals(parts[0])) {
+            addUserCutoff(parts[2], time);
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.eventmanager.service;
+
+import com.eventmanager.entity.User;
+import com.eventmanager.repository.UserRepository;
+import com.eventmanager.util.CountingBloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Answers "is this username/email taken?" without a query when a Bloom filter
+ * over every stored username and email says it definitely is not. A "maybe"
+ * falls through to the database, and the unique constraints remain the final
+ * guard against races. Soft-deleted users are included because their rows
+ * still hold the unique values.
+ * <p>
+ * Values are compared lower-cased, so the filter stays a superset under
+ * MySQL's case-insensitive collation. Until the first load completes every
+ * check goes to the database. A periodic rebuild drops names freed by the
+ * purge job and resizes the filter as the user table grows.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserExistenceFilter {
+    
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    
+    @Value("${registration.bloom.expected-entries:100000}")
+    private int expectedEntries;
+    
+    @Value("${registration.bloom.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+    
+    private volatile Filters current;
+    // Receives writes too while a rebuild is scanning the table
+    private volatile Filters building;
+    
+    private Counter definitelyAbsent;
+    private Counter falsePositives;
+    private Counter truePositives;
+    
+    @PostConstruct
+    public void registerMetrics() {
+        definitelyAbsent = meterRegistry.counter("eventmanager.bloom.checks", "result", "absent");
+        falsePositives = meterRegistry.counter("eventmanager.bloom.checks", "result", "false-positive");
+        truePositives = meterRegistry.counter("eventmanager.bloom.checks", "result", "present");
+        Gauge.builder("eventmanager.bloom.false-positive-rate", this, UserExistenceFilter::observedFalsePositiveRate)
+                .description("Share of absent values the filter could not rule out")
+                .register(meterRegistry);
+    }
+    
+    public boolean usernameExists(String username) {
+        Filters filters = current;
+        return check(filters == null ? null : filters.usernames, username, userRepository::existsByUsername);
+    }
+    
+    public boolean emailExists(String email) {
+        Filters filters = current;
+        return check(filters == null ? null : filters.emails, email, userRepository::existsByEmail);
+    }
+    
+    /**
+     * Inserts a new user, recording its username and email. A duplicate that got
+     * past the checks is reported the same way the checks would have reported it.
+     */
+    public User saveNew(User user) {
+        User saved = saveGuarded(user);
+        forEachFilters(filters -> filters.add(saved.getUsername(), saved.getEmail()));
+        return saved;
+    }
+    
+    /**
+     * Saves a user whose username or email may have changed.
+     */
+    public User saveChanged(User user, String oldUsername, String oldEmail) {
+        User saved = saveGuarded(user);
+        changed(oldUsername, saved.getUsername(), oldEmail, saved.getEmail());
+        return saved;
+    }
+    
+    /**
+     * Records a changed username and/or email. The new values are added at once;
+     * the old ones are released after the change commits, and only from the
+     * filter that was current when the change began. A filter loaded since then
+     * may never have seen the old values, and removing absent values would
+     * corrupt it. At worst the old values linger as false positives until the
+     * next rebuild.
+     */
+    private void changed(String oldUsername, String newUsername, String oldEmail, String newEmail) {
+        Filters before = current;
+        boolean usernameChanged = !oldUsername.equals(newUsername);
+        boolean emailChanged = !oldEmail.equals(newEmail);
+        forEachFilters(filters -> {
+            if (usernameChanged) {
+                filters.usernames.add(key(newUsername));
+            }
+            if (emailChanged) {
+                filters.emails.add(key(newEmail));
+            }
+        });
+        if (before == null || !(usernameChanged || emailChanged)) {
+            return;
+        }
+        afterCommit(() -> {
+            if (current == before) {
+                if (usernameChanged) {
+                    before.usernames.remove(key(oldUsername));
+                }
+                if (emailChanged) {
+                    before.emails.remove(key(oldEmail));
+                }
+            }
+        });
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${registration.bloom.rebuild-interval:21600000}",
+               fixedDelayString = "${registration.bloom.rebuild-interval:21600000}")
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        Integer users = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Integer.class);
+        // Headroom so the filter stays near its target rate until the next rebuild
+        Filters rebuilt = new Filters(Math.max(expectedEntries, 2 * (users == null ? 0 : users)), falsePositiveRate);
+        building = rebuilt;
+        try {
+            jdbcTemplate.query("SELECT username, email FROM users", (RowCallbackHandler) rs ->
+                    rebuilt.add(rs.getString(1), rs.getString(2)));
+            current = rebuilt;
+        } finally {
+            building = null;
+        }
+        log.info("Loaded {} users into the username/email filter in {} ms",
+                rebuilt.usernames.size(), System.currentTimeMillis() - started);
+    }
+    
+    private User saveGuarded(User user) {
+        try {
+            return userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            // Plain SQL: a soft-deleted user still holds the value but is hidden from the repository
+            if (taken("username", user.getUsername(), user.getId())) {
+                throw new RuntimeException("Username already exists");
+            }
+            if (taken("email", user.getEmail(), user.getId())) {
+                throw new RuntimeException("Email already exists");
+            }
+            throw e;
+        }
+    }
+    
+    private boolean taken(String column, String value, Long ownId) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM users WHERE " + column + " = ? AND id <> ?",
+                Integer.class, value, ownId == null ? -1L : ownId);
+        return count != null && count > 0;
+    }
+    
+    private boolean check(CountingBloomFilter filter, String value, Predicate<String> database) {
+        if (filter != null && !filter.mightContain(key(value))) {
+            definitelyAbsent.increment();
+            return false;
+        }
+        boolean exists = database.test(value);
+        if (filter != null) {
+            (exists ? truePositives : falsePositives).increment();
+        }
+        return exists;
+    }
+    
+    private double observedFalsePositiveRate() {
+        double negatives = definitelyAbsent.count() + falsePositives.count();
+        return negatives == 0 ? 0 : falsePositives.count() / negatives;
+    }
+    
+    // Adds go to the filter being rebuilt as well, in case the scan has already passed their row
+    private void forEachFilters(Consumer<Filters> change) {
+        Filters filters = current;
+        if (filters != null) {
+            change.accept(filters);
+        }
+        Filters next = building;
+        if (next != null && next != filters) {
+            change.accept(next);
+        }
+    }
+    
+    private static String key(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+    
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+    
+    private static final class Filters {
+        final CountingBloomFilter usernames;
+        final CountingBloomFilter emails;
+        
+        Filters(int expectedEntries, double falsePositiveRate) {
+            usernames = new CountingBloomFilter(expectedEntries, falsePositiveRate);
+            emails = new CountingBloomFilter(expectedEntries, falsePositiveRate);
+        }
+        
+        void add(String username, String email) {
+            usernames.add(key(username));
+            emails.add(key(email));
+        }
+    }
+}
@@ -1,13 +1,23 @@
 package com.eventmanager.service;
 
+import com.eventmanager.config.CacheConfig;
 import com.eventmanager.dto.UserDTO;
+import com.eventmanager.entity.Application;
 import com.eventmanager.entity.User;
+import com.eventmanager.repository.ApplicationRepository;
+import com.eventmanager.repository.EventRepository;
 import com.eventmanager.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -15,13 +25,20 @@ import java.util.stream.Collectors;
 public class UserService {
     
     private final UserRepository userRepository;
+    private final EventRepository eventRepository;
+    private final ApplicationRepository applicationRepository;
+    private final ApplicationService applicationService;
+    private final EventCalendar eventCalendar;
+    private final UserExistenceFilter userExistenceFilter;
     private final PasswordEncoder passwordEncoder;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationList revocationList;
     
     public UserDTO.Response createUser(UserDTO.CreateRequest request) {
-        if (userRepository.existsByUsername(request.getUsername())) {
+        if (userExistenceFilter.usernameExists(request.getUsername())) {
             throw new RuntimeException("Username already exists");
         }
-        if (userRepository.existsByEmail(request.getEmail())) {
+        if (userExistenceFilter.emailExists(request.getEmail())) {
             throw new RuntimeException("Email already exists");
         }
         
@@ -32,7 +49,7 @@ public class UserService {
                 .role(request.getRole() != null ? request.getRole() : User.UserRole.USER)
                 .build();
         
-        User savedUser = userRepository.save(user);
+        User savedUser = userExistenceFilter.saveNew(user);
         return convertToDTO(savedUser);
     }
     
@@ -42,19 +59,27 @@ public class UserService {
                 .collect(Collectors.toList());
     }
     
+    @Cacheable(cacheNames = CacheConfig.USERS, key = "#id")
     public UserDTO.Response getUserById(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         return convertToDTO(user);
     }
     
+    // Active event listings embed the organizer's username
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.USERS, key = "#id"),
+        @CacheEvict(cacheNames = CacheConfig.ACTIVE_EVENTS, allEntries = true)
+    })
     public UserDTO.Response updateUser(Long id, UserDTO.UpdateRequest request) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found"));
+        String oldUsername = user.getUsername();
+        String oldEmail = user.getEmail();
         
         if (request.getUsername() != null && !request.getUsername().isEmpty()) {
             if (!user.getUsername().equals(request.getUsername()) && 
-                userRepository.existsByUsername(request.getUsername())) {
+                userExistenceFilter.usernameExists(request.getUsername())) {
                 throw new RuntimeException("Username already exists");
             }
             user.setUsername(request.getUsername());
@@ -62,21 +87,50 @@ public class UserService {
         
         if (request.getEmail() != null && !request.getEmail().isEmpty()) {
             if (!user.getEmail().equals(request.getEmail()) && 
-                userRepository.existsByEmail(request.getEmail())) {
+                userExistenceFilter.emailExists(request.getEmail())) {
                 throw new RuntimeException("Email already exists");
             }
             user.setEmail(request.getEmail());
         }
         
-        User updatedUser = userRepository.save(user);
+        User updatedUser = userExistenceFilter.saveChanged(user, oldUsername, oldEmail);
+        // Access tokens name the user; ones issued under the old name must stop working
+        if (!oldUsername.equals(updatedUser.getUsername())) {
+            revocationList.revokeUser(oldUsername);
+        }
+        // Calendar entries embed the organizer's username
+        eventCalendar.invalidate();
         return convertToDTO(updatedUser);
     }
     
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.USERS, key = "#id"),
+        @CacheEvict(cacheNames = CacheConfig.ACTIVE_EVENTS, allEntries = true)
+    })
+    @Transactional
     public void deleteUser(Long id) {
-        if (!userRepository.existsById(id)) {
-            throw new RuntimeException("User not found");
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        
+        // Read before the soft delete hides them
+        Set<Long> organizedEventIds = new HashSet<>(eventRepository.findIdsByOrganizerId(id));
+        List<ApplicationRepository.EventStatus> applications = applicationRepository.findStatusesByUserId(id);
+        
+        // Soft delete the user and their events; DeletionPurgeJob removes the rows later
+        user.setDeleted(true);
+        // Flushed so that the seat counts below already leave the user's applications out
+        userRepository.saveAndFlush(user);
+        eventRepository.softDeleteByOrganizerId(id);
+        refreshTokenService.revokeAll(user);
+        eventCalendar.invalidate();
+        
+        // The user's approved applications are hidden now, which frees their seats in events still open
+        for (ApplicationRepository.EventStatus application : applications) {
+            if (application.getStatus() == Application.ApplicationStatus.APPROVED
+                    && !organizedEventIds.contains(application.getEventId())) {
+                applicationService.promoteFromWaitlist(eventRepository.getReferenceById(application.getEventId()));
+            }
         }
-        userRepository.deleteById(id);
     }
     
     private UserDTO.Response convertToDTO(User user) {
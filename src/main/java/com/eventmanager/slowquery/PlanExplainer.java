@@ -0,0 +1,113 @@
+package com.eventmanager.slowquery;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs {@code EXPLAIN} for sampled slow statements on a single background thread
+ * and logs the plan. When the queue is full the sample is dropped rather than
+ * making the request thread wait.
+ */
+@Slf4j
+@Component
+public class PlanExplainer {
+
+    private final ObjectProvider<DataSource> dataSources;
+    private final ThreadPoolExecutor executor;
+    private final Counter dropped;
+
+    public PlanExplainer(ObjectProvider<DataSource> dataSources, MeterRegistry meterRegistry,
+                         @Value("${slow-query.explain-queue:16}") int queueSize) {
+        this.dataSources = dataSources;
+        this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "slow-query-explain");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.dropped = Counter.builder("eventmanager.sql.explain.dropped").register(meterRegistry);
+    }
+
+    void submit(StatementStats stats, List<ParameterSetOperation> parameters, long elapsedMillis) {
+        try {
+            executor.execute(() -> explain(stats, parameters, elapsedMillis));
+        } catch (RejectedExecutionException e) {
+            dropped.increment();
+        }
+    }
+
+    private void explain(StatementStats stats, List<ParameterSetOperation> parameters, long elapsedMillis) {
+        DataSource dataSource = dataSources.getObject();
+        // Bypass the proxy so the EXPLAIN itself isn't recorded as a statement
+        if (dataSource instanceof ProxyDataSource proxy) {
+            dataSource = proxy.getDataSource();
+        }
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + stats.sql())) {
+            for (ParameterSetOperation parameter : parameters) {
+                Object[] args = parameter.getArgs();
+                if (ParameterSetOperation.isSetNullParameterOperation(parameter)) {
+                    statement.setNull((Integer) args[0], (Integer) args[1]);
+                } else {
+                    statement.setObject((Integer) args[0], args[1]);
+                }
+            }
+            String plan;
+            try (ResultSet resultSet = statement.executeQuery()) {
+                plan = format(resultSet);
+            }
+            stats.plan(plan);
+            log.warn("Slow statement in {} took {} ms: {}\n{}", stats.operation(), elapsedMillis, stats.sql(), plan);
+        } catch (SQLException | RuntimeException e) {
+            log.warn("Slow statement in {} took {} ms: {} (EXPLAIN failed: {})",
+                    stats.operation(), elapsedMillis, stats.sql(), e.getMessage());
+        }
+    }
+
+    // H2 returns the plan as a single text column, MySQL as one row per table access
+    private static String format(ResultSet resultSet) throws SQLException {
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        int columns = metaData.getColumnCount();
+        StringBuilder plan = new StringBuilder();
+        while (resultSet.next()) {
+            if (!plan.isEmpty()) {
+                plan.append('\n');
+            }
+            if (columns == 1) {
+                plan.append(resultSet.getString(1));
+                continue;
+            }
+            for (int i = 1; i <= columns; i++) {
+                if (i > 1) {
+                    plan.append(", ");
+                }
+                plan.append(metaData.getColumnLabel(i)).append('=').append(resultSet.getString(i));
+            }
+        }
+        return plan.toString();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
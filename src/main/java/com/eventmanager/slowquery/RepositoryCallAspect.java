@@ -0,0 +1,63 @@
+package com.eventmanager.slowquery;
+
+import com.eventmanager.jfr.JfrAspect;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tells {@link StatementStatsListener} which repository method issued a statement.
+ * The method name is only resolved when the call actually reaches the database.
+ */
+@Aspect
+@Component
+public class RepositoryCallAspect {
+
+    private static final ThreadLocal<Call> CURRENT = new ThreadLocal<>();
+
+    static final class Call {
+        private final ProceedingJoinPoint joinPoint;
+        private final Call caller;
+        private String operation;
+        // Rows returned by the call are credited to the last statement it ran
+        StatementStats lastStatement;
+
+        private Call(ProceedingJoinPoint joinPoint, Call caller) {
+            this.joinPoint = joinPoint;
+            this.caller = caller;
+        }
+
+        String operation() {
+            if (operation == null) {
+                operation = JfrAspect.operation(joinPoint);
+            }
+            return operation;
+        }
+    }
+
+    static Call current() {
+        return CURRENT.get();
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object attribute(ProceedingJoinPoint joinPoint) throws Throwable {
+        Call call = new Call(joinPoint, CURRENT.get());
+        CURRENT.set(call);
+        Object result = null;
+        try {
+            result = joinPoint.proceed();
+            return result;
+        } finally {
+            if (call.caller == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(call.caller);
+            }
+            int rows = JfrAspect.rows(result);
+            if (rows >= 0 && call.lastStatement != null) {
+                call.lastStatement.addRows(rows);
+            }
+        }
+    }
+}
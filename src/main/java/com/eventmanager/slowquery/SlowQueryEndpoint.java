@@ -0,0 +1,39 @@
+package com.eventmanager.slowquery;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@code /actuator/slowqueries}: the top statements since start-up or the last reset.
+ * <ul>
+ *   <li>{@code GET} lists them (optional {@code limit}, and {@code sort} = {@code total}, {@code max} or {@code calls})</li>
+ *   <li>{@code DELETE} clears the table</li>
+ * </ul>
+ */
+@Component
+@Endpoint(id = "slowqueries")
+@RequiredArgsConstructor
+public class SlowQueryEndpoint {
+
+    private final StatementStatsListener statements;
+
+    @Value("${slow-query.top:20}")
+    private int defaultLimit;
+
+    @ReadOperation
+    public List<StatementStats.Snapshot> top(@Nullable Integer limit, @Nullable String sort) {
+        return statements.top(limit != null ? limit : defaultLimit, sort != null ? sort : "total");
+    }
+
+    @DeleteOperation
+    public void reset() {
+        statements.reset();
+    }
+}
@@ -0,0 +1,80 @@
+package com.eventmanager.slowquery;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running totals for one SQL string issued by one repository method.
+ */
+public class StatementStats {
+
+    public record Snapshot(String operation, String sql, long calls, long totalMillis, double meanMillis,
+                           long maxMillis, long rows, long slowCalls, String plan, Instant planCapturedAt) {
+    }
+
+    private final String operation;
+    private final String sql;
+    private final Timer timer;
+    private final Counter slowCounter;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder totalMillis = new LongAdder();
+    private final AtomicLong maxMillis = new AtomicLong();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder slowCalls = new LongAdder();
+    private final AtomicLong nextExplainAt = new AtomicLong();
+    private volatile String plan;
+    private volatile Instant planCapturedAt;
+
+    StatementStats(String operation, String sql, Timer timer, Counter slowCounter) {
+        this.operation = operation;
+        this.sql = sql;
+        this.timer = timer;
+        this.slowCounter = slowCounter;
+    }
+
+    void record(long elapsedMillis, boolean slow) {
+        calls.increment();
+        totalMillis.add(elapsedMillis);
+        maxMillis.accumulateAndGet(elapsedMillis, Math::max);
+        timer.record(elapsedMillis, TimeUnit.MILLISECONDS);
+        if (slow) {
+            slowCalls.increment();
+            slowCounter.increment();
+        }
+    }
+
+    void addRows(long count) {
+        rows.add(count);
+    }
+
+    /** At most one caller per interval wins the right to capture a new plan. */
+    boolean claimExplain(long now, long interval) {
+        long next = nextExplainAt.get();
+        return now >= next && nextExplainAt.compareAndSet(next, now + interval);
+    }
+
+    void plan(String plan) {
+        this.plan = plan;
+        this.planCapturedAt = Instant.now();
+    }
+
+    String operation() {
+        return operation;
+    }
+
+    String sql() {
+        return sql;
+    }
+
+    Snapshot snapshot() {
+        long count = calls.sum();
+        long total = totalMillis.sum();
+        return new Snapshot(operation, sql, count, total, count == 0 ? 0 : (double) total / count,
+                maxMillis.get(), rows.sum(), slowCalls.sum(), plan, planCapturedAt);
+    }
+}
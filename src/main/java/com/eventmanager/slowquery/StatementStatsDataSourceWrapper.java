@@ -0,0 +1,34 @@
+package com.eventmanager.slowquery;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application's data source so {@link StatementStatsListener} sees every
+ * statement. Closing the proxy closes the pools behind it.
+ */
+@Component
+public class StatementStatsDataSourceWrapper implements BeanPostProcessor {
+
+    // Looked up lazily: post-processors are created before ordinary beans
+    private final ObjectProvider<StatementStatsListener> listener;
+
+    public StatementStatsDataSourceWrapper(ObjectProvider<StatementStatsListener> listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+            return ProxyDataSourceBuilder.create(beanName, dataSource)
+                    .listener(listener.getObject())
+                    .build();
+        }
+        return bean;
+    }
+}
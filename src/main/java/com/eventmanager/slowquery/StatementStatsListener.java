@@ -0,0 +1,142 @@
+package com.eventmanager.slowquery;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Records latency and row counts per repository method and SQL string. Statements
+ * slower than {@code slow-query.threshold} ms are counted, and a sample of them is
+ * handed to {@link PlanExplainer}; nothing is logged on the calling thread.
+ */
+@Component
+public class StatementStatsListener implements QueryExecutionListener {
+
+    static final String OUTSIDE_REPOSITORIES = "(outside repositories)";
+    // Where statements go once max-statements distinct SQL strings are tracked
+    static final String OTHER_STATEMENTS = "(other statements)";
+
+    private record Key(String operation, String sql) {
+    }
+
+    private final ConcurrentHashMap<Key, StatementStats> statements = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final PlanExplainer explainer;
+    private final long threshold;
+    private final double sampleRate;
+    private final long explainInterval;
+    private final int maxStatements;
+
+    public StatementStatsListener(MeterRegistry meterRegistry, PlanExplainer explainer,
+                                  @Value("${slow-query.threshold:200}") long threshold,
+                                  @Value("${slow-query.explain-sample-rate:0.1}") double sampleRate,
+                                  @Value("${slow-query.explain-interval:60000}") long explainInterval,
+                                  @Value("${slow-query.max-statements:1000}") int maxStatements) {
+        this.meterRegistry = meterRegistry;
+        this.explainer = explainer;
+        this.threshold = threshold;
+        this.sampleRate = sampleRate;
+        this.explainInterval = explainInterval;
+        this.maxStatements = maxStatements;
+        Gauge.builder("eventmanager.sql.tracked-statements", statements, ConcurrentHashMap::size)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execution, List<QueryInfo> queries) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execution, List<QueryInfo> queries) {
+        if (queries.isEmpty()) {
+            return;
+        }
+        RepositoryCallAspect.Call call = RepositoryCallAspect.current();
+        String operation = call == null ? OUTSIDE_REPOSITORIES : call.operation();
+        // A plain Statement batch can carry several SQL strings; it is filed under the first
+        QueryInfo query = queries.get(0);
+        StatementStats stats = stats(operation, query.getQuery());
+        long elapsed = execution.getElapsedTime();
+        boolean slow = elapsed >= threshold;
+        stats.record(elapsed, slow);
+        long updated = updateCount(execution.getResult());
+        if (updated >= 0) {
+            stats.addRows(updated);
+        } else if (call != null) {
+            call.lastStatement = stats;
+        }
+        if (slow && !OTHER_STATEMENTS.equals(stats.sql()) && explainable(stats.sql())
+                && ThreadLocalRandom.current().nextDouble() < sampleRate
+                && stats.claimExplain(System.currentTimeMillis(), explainInterval)) {
+            List<List<ParameterSetOperation>> parameters = query.getParametersList();
+            explainer.submit(stats, parameters.isEmpty() ? List.of() : new ArrayList<>(parameters.get(0)), elapsed);
+        }
+    }
+
+    /** The most expensive statements, by total time ({@code "total"}), worst call ({@code "max"}) or call count. */
+    public List<StatementStats.Snapshot> top(int limit, String sort) {
+        Comparator<StatementStats.Snapshot> order = switch (sort) {
+            case "max" -> Comparator.comparingLong(StatementStats.Snapshot::maxMillis);
+            case "calls" -> Comparator.comparingLong(StatementStats.Snapshot::calls);
+            default -> Comparator.comparingLong(StatementStats.Snapshot::totalMillis);
+        };
+        return statements.values().stream()
+                .map(StatementStats::snapshot)
+                .sorted(order.reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public void reset() {
+        statements.clear();
+    }
+
+    private StatementStats stats(String operation, String sql) {
+        StatementStats stats = statements.get(new Key(operation, sql));
+        if (stats != null) {
+            return stats;
+        }
+        // Dynamic IN lists produce a new SQL string per length, so the table is capped
+        Key key = statements.size() < maxStatements ? new Key(operation, sql) : new Key(operation, OTHER_STATEMENTS);
+        return statements.computeIfAbsent(key, k -> new StatementStats(k.operation(), k.sql(),
+                Timer.builder("eventmanager.sql.statements").tag("operation", k.operation()).register(meterRegistry),
+                Counter.builder("eventmanager.sql.slow").tag("operation", k.operation()).register(meterRegistry)));
+    }
+
+    private static long updateCount(Object result) {
+        if (result instanceof Integer count) {
+            return Math.max(count, 0);
+        }
+        if (result instanceof Long count) {
+            return Math.max(count, 0);
+        }
+        if (result instanceof int[] counts) {
+            long total = 0;
+            for (int count : counts) {
+                total += Math.max(count, 0);
+            }
+            return total;
+        }
+        return -1;
+    }
+
+    private static boolean explainable(String sql) {
+        String verb = sql.stripLeading();
+        verb = verb.substring(0, Math.min(verb.length(), 6)).toLowerCase(Locale.ROOT);
+        return verb.equals("select") || verb.equals("update") || verb.equals("delete");
+    }
+}
@@ -0,0 +1,64 @@
+package com.eventmanager.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Turns a list of keys into as few bulk loads as possible: duplicates are loaded
+ * once, keys are sent in chunks of at most {@code maxBatchSize}, and the values
+ * come back in the order the keys were first requested. Keys with no value are
+ * left out of the result.
+ */
+public class BatchLoader<K, V> {
+    
+    private final Function<Collection<K>, ? extends Collection<V>> batchFunction;
+    private final Function<V, K> keyOf;
+    private final int maxBatchSize;
+    
+    public BatchLoader(Function<Collection<K>, ? extends Collection<V>> batchFunction,
+                       Function<V, K> keyOf, int maxBatchSize) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be positive");
+        }
+        this.batchFunction = batchFunction;
+        this.keyOf = keyOf;
+        this.maxBatchSize = maxBatchSize;
+    }
+    
+    public List<V> loadMany(List<K> keys) {
+        Set<K> distinct = new LinkedHashSet<>(keys);
+        Map<K, V> loaded = new HashMap<>(distinct.size() * 2);
+        List<K> chunk = new ArrayList<>(Math.min(distinct.size(), maxBatchSize));
+        for (K key : distinct) {
+            chunk.add(key);
+            if (chunk.size() == maxBatchSize) {
+                load(chunk, loaded);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            load(chunk, loaded);
+        }
+        
+        List<V> values = new ArrayList<>(loaded.size());
+        for (K key : distinct) {
+            V value = loaded.get(key);
+            if (value != null) {
+                values.add(value);
+            }
+        }
+        return values;
+    }
+    
+    private void load(List<K> chunk, Map<K, V> loaded) {
+        for (V value : batchFunction.apply(List.copyOf(chunk))) {
+            loaded.put(keyOf.apply(value), value);
+        }
+    }
+}
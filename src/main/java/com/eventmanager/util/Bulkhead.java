@@ -0,0 +1,100 @@
+package com.eventmanager.util;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caps how many calls of one class run at once. When all slots are taken, up to
+ * {@code maxWaiting} further callers wait at most {@code waitTimeoutMillis} for one;
+ * anyone beyond that is turned away immediately instead of tying up a thread.
+ */
+public class Bulkhead {
+    
+    private final String name;
+    private final int maxConcurrent;
+    private final int maxWaiting;
+    private final long waitTimeoutMillis;
+    private final Semaphore permits;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    
+    public Bulkhead(String name, int maxConcurrent, int maxWaiting, long waitTimeoutMillis) {
+        if (maxConcurrent < 1 || maxWaiting < 0 || waitTimeoutMillis < 0) {
+            throw new IllegalArgumentException("Invalid limits for bulkhead " + name);
+        }
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaiting = maxWaiting;
+        this.waitTimeoutMillis = waitTimeoutMillis;
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+    
+    /**
+     * Takes a slot, waiting briefly if the queue has room. Every {@code true} must be
+     * paired with a {@link #release()}.
+     */
+    public boolean tryAcquire() throws InterruptedException {
+        if (permits.tryAcquire()) {
+            return true;
+        }
+        if (waiting.incrementAndGet() > maxWaiting) {
+            waiting.decrementAndGet();
+            rejected.increment();
+            return false;
+        }
+        try {
+            if (permits.tryAcquire(waitTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+            rejected.increment();
+            return false;
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+    
+    public void release() {
+        permits.release();
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public int getActiveCount() {
+        return maxConcurrent - permits.availablePermits();
+    }
+    
+    public int getWaitingCount() {
+        return waiting.get();
+    }
+    
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+    
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("eventmanager.bulkhead.active", this, Bulkhead::getActiveCount)
+                .tag("bulkhead", name)
+                .description("Calls currently holding a slot")
+                .register(registry);
+        Gauge.builder("eventmanager.bulkhead.waiting", this, Bulkhead::getWaitingCount)
+                .tag("bulkhead", name)
+                .description("Calls queued for a slot")
+                .register(registry);
+        Gauge.builder("eventmanager.bulkhead.limit", this, bulkhead -> bulkhead.maxConcurrent)
+                .tag("bulkhead", name)
+                .description("Maximum concurrent calls")
+                .register(registry);
+        FunctionCounter.builder("eventmanager.bulkhead.rejected", rejected, LongAdder::sum)
+                .tag("bulkhead", name)
+                .description("Calls turned away because the bulkhead and its queue were full")
+                .register(registry);
+    }
+}
@@ -0,0 +1,92 @@
+package com.eventmanager.util;
+
+/**
+ * Bloom filter with small counters instead of bits, so entries can be removed.
+ * {@link #mightContain} never returns {@code false} for a string that was added
+ * and not removed; it returns {@code true} for an absent one with roughly the
+ * configured false-positive probability while the filter holds no more than
+ * its expected number of entries. Counters saturate at 255 and are then never
+ * decremented, which keeps removals safe at the cost of a few stuck slots.
+ */
+public class CountingBloomFilter {
+    
+    private static final int SATURATED = 0xFF;
+    
+    private final byte[] counters;
+    private final int hashes;
+    private int entries;
+    
+    public CountingBloomFilter(int expectedEntries, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False-positive rate must be between 0 and 1");
+        }
+        int n = Math.max(1, expectedEntries);
+        long slots = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.counters = new byte[(int) Math.min(Integer.MAX_VALUE - 8, Math.max(64, slots))];
+        this.hashes = Math.max(1, (int) Math.round((double) counters.length / n * Math.log(2)));
+    }
+    
+    public synchronized void add(String value) {
+        long hash = hash(value);
+        for (int i = 0; i < hashes; i++) {
+            int slot = slot(hash, i);
+            int count = counters[slot] & 0xFF;
+            if (count < SATURATED) {
+                counters[slot] = (byte) (count + 1);
+            }
+        }
+        entries++;
+    }
+    
+    /**
+     * Removes one occurrence of a value previously {@link #add added}. Removing a
+     * value that was never added corrupts the filter.
+     */
+    public synchronized void remove(String value) {
+        long hash = hash(value);
+        for (int i = 0; i < hashes; i++) {
+            int slot = slot(hash, i);
+            int count = counters[slot] & 0xFF;
+            if (count > 0 && count < SATURATED) {
+                counters[slot] = (byte) (count - 1);
+            }
+        }
+        entries--;
+    }
+    
+    public synchronized boolean mightContain(String value) {
+        long hash = hash(value);
+        for (int i = 0; i < hashes; i++) {
+            if (counters[slot(hash, i)] == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    public synchronized int size() {
+        return entries;
+    }
+    
+    // Double hashing: the i-th probe is h1 + i * h2 over the two halves of one 64-bit hash
+    private int slot(long hash, int i) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        return Math.floorMod(h1 + i * h2, counters.length);
+    }
+    
+    // FNV-1a over the UTF-16 code units, finished with a 64-bit avalanche mix
+    private static long hash(String value) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,177 @@
+package com.eventmanager.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Closed intervals {@code [start, end]} keyed by a unique id, held in a treap
+ * ordered by {@code (start, id)} where every node also tracks the largest end in
+ * its subtree. Inserts and removals are O(log n) expected; an overlap query
+ * prunes subtrees that end before the range or start after it, so it costs
+ * O(log n + k) for k matches. Not thread-safe.
+ */
+public class IntervalTree<V> {
+    
+    private final Map<Long, Node<V>> nodesById = new HashMap<>();
+    private Node<V> root;
+    
+    /**
+     * Adds an interval, replacing any interval previously stored under {@code id}.
+     */
+    public void put(long id, long start, long end, V value) {
+        if (end < start) {
+            throw new IllegalArgumentException("Interval ends before it starts: [" + start + ", " + end + "]");
+        }
+        remove(id);
+        Node<V> node = new Node<>(id, start, end, value);
+        nodesById.put(id, node);
+        root = insert(root, node);
+    }
+    
+    public boolean remove(long id) {
+        Node<V> node = nodesById.remove(id);
+        if (node == null) {
+            return false;
+        }
+        root = remove(root, node);
+        return true;
+    }
+    
+    /**
+     * Values whose interval shares at least one point with {@code [from, to]},
+     * ordered by interval start.
+     */
+    public List<V> overlapping(long from, long to) {
+        List<V> matches = new ArrayList<>();
+        collect(root, from, to, matches);
+        return matches;
+    }
+    
+    public int size() {
+        return nodesById.size();
+    }
+    
+    private static <V> void collect(Node<V> node, long from, long to, List<V> matches) {
+        if (node == null || node.maxEnd < from) {
+            return;
+        }
+        collect(node.left, from, to, matches);
+        if (node.start > to) {
+            return;
+        }
+        if (node.end >= from) {
+            matches.add(node.value);
+        }
+        collect(node.right, from, to, matches);
+    }
+    
+    private static <V> Node<V> insert(Node<V> tree, Node<V> node) {
+        if (tree == null) {
+            return node;
+        }
+        if (compare(node, tree) < 0) {
+            tree.left = insert(tree.left, node);
+            if (tree.left.priority > tree.priority) {
+                tree = rotateRight(tree);
+            }
+        } else {
+            tree.right = insert(tree.right, node);
+            if (tree.right.priority > tree.priority) {
+                tree = rotateLeft(tree);
+            }
+        }
+        update(tree);
+        return tree;
+    }
+    
+    private static <V> Node<V> remove(Node<V> tree, Node<V> node) {
+        if (tree == null) {
+            return null;
+        }
+        int order = compare(node, tree);
+        if (order == 0) {
+            return merge(tree.left, tree.right);
+        }
+        if (order < 0) {
+            tree.left = remove(tree.left, node);
+        } else {
+            tree.right = remove(tree.right, node);
+        }
+        update(tree);
+        return tree;
+    }
+    
+    // Every key in low sorts before every key in high
+    private static <V> Node<V> merge(Node<V> low, Node<V> high) {
+        if (low == null) {
+            return high;
+        }
+        if (high == null) {
+            return low;
+        }
+        if (low.priority > high.priority) {
+            low.right = merge(low.right, high);
+            update(low);
+            return low;
+        }
+        high.left = merge(low, high.left);
+        update(high);
+        return high;
+    }
+    
+    private static <V> Node<V> rotateRight(Node<V> node) {
+        Node<V> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+    
+    private static <V> Node<V> rotateLeft(Node<V> node) {
+        Node<V> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+    
+    private static <V> void update(Node<V> node) {
+        long maxEnd = node.end;
+        if (node.left != null) {
+            maxEnd = Math.max(maxEnd, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            maxEnd = Math.max(maxEnd, node.right.maxEnd);
+        }
+        node.maxEnd = maxEnd;
+    }
+    
+    private static int compare(Node<?> a, Node<?> b) {
+        int byStart = Long.compare(a.start, b.start);
+        return byStart != 0 ? byStart : Long.compare(a.id, b.id);
+    }
+    
+    private static final class Node<V> {
+        final long id;
+        final long start;
+        final long end;
+        final int priority = ThreadLocalRandom.current().nextInt();
+        final V value;
+        long maxEnd;
+        Node<V> left;
+        Node<V> right;
+        
+        Node(long id, long start, long end, V value) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.value = value;
+            this.maxEnd = end;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.eventmanager.util;
+
+import java.time.LocalDate;
+
+/**
+ * ISO-8601 text for dates, cached per day. Listings repeat the same few hundred
+ * dates across thousands of rows, so most lookups return an existing string.
+ * The cache is direct-mapped on the epoch day; a collision just formats again.
+ */
+public final class IsoDates {
+    
+    private static final int SLOTS = 4096;
+    private static final Entry[] CACHE = new Entry[SLOTS];
+    
+    private IsoDates() {
+    }
+    
+    /**
+     * Same text as {@code DateTimeFormatter.ISO_LOCAL_DATE}, e.g. {@code 2024-11-16}.
+     */
+    public static String format(LocalDate date) {
+        long day = date.toEpochDay();
+        int slot = (int) (day & (SLOTS - 1));
+        Entry entry = CACHE[slot];
+        if (entry == null || entry.day != day) {
+            entry = new Entry(day, date.toString());
+            CACHE[slot] = entry;
+        }
+        return entry.text;
+    }
+    
+    private record Entry(long day, String text) {
+    }
+}
@@ -0,0 +1,154 @@
+package com.eventmanager.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Writes rows straight to a Jackson generator, bypassing entity and DTO
+ * instances. Field names are pre-encoded {@link SerializableString}s and date
+ * text is cached or built in a reused buffer. Output matches what the default
+ * ObjectMapper writes for the equivalent DTO: ISO strings for JSON, and the
+ * same numeric arrays as {@code WRITE_DATES_AS_TIMESTAMPS} for binary formats.
+ */
+public class JsonRowWriter {
+    
+    private final JsonGenerator generator;
+    private final boolean datesAsArrays;
+    // yyyy-MM-ddTHH:mm:ss.nnnnnnnnn fits with room for a signed five-digit year
+    private final char[] dateTimeBuffer = new char[32];
+    
+    public JsonRowWriter(JsonGenerator generator, boolean datesAsArrays) {
+        this.generator = generator;
+        this.datesAsArrays = datesAsArrays;
+    }
+    
+    public void startRows() throws IOException {
+        generator.writeStartArray();
+    }
+    
+    public void endRows() throws IOException {
+        generator.writeEndArray();
+    }
+    
+    public void startRow() throws IOException {
+        generator.writeStartObject();
+    }
+    
+    public void endRow() throws IOException {
+        generator.writeEndObject();
+    }
+    
+    public void writeNumber(SerializableString name, long value) throws IOException {
+        generator.writeFieldName(name);
+        generator.writeNumber(value);
+    }
+    
+    public void writeNumber(SerializableString name, int value) throws IOException {
+        generator.writeFieldName(name);
+        generator.writeNumber(value);
+    }
+    
+    public void writeNull(SerializableString name) throws IOException {
+        generator.writeFieldName(name);
+        generator.writeNull();
+    }
+    
+    public void writeString(SerializableString name, String value) throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(value);
+        }
+    }
+    
+    public void writeDate(SerializableString name, LocalDate date) throws IOException {
+        generator.writeFieldName(name);
+        if (date == null) {
+            generator.writeNull();
+        } else if (datesAsArrays) {
+            generator.writeStartArray();
+            generator.writeNumber(date.getYear());
+            generator.writeNumber(date.getMonthValue());
+            generator.writeNumber(date.getDayOfMonth());
+            generator.writeEndArray();
+        } else {
+            generator.writeString(IsoDates.format(date));
+        }
+    }
+    
+    public void writeDateTime(SerializableString name, LocalDateTime dateTime) throws IOException {
+        generator.writeFieldName(name);
+        if (dateTime == null) {
+            generator.writeNull();
+        } else if (datesAsArrays) {
+            writeDateTimeArray(dateTime);
+        } else {
+            int length = formatDateTime(dateTime);
+            generator.writeString(dateTimeBuffer, 0, length);
+        }
+    }
+    
+    public void flush() throws IOException {
+        generator.flush();
+    }
+    
+    // Mirrors LocalDateTimeSerializer: seconds and nanos only when non-zero
+    private void writeDateTimeArray(LocalDateTime dateTime) throws IOException {
+        generator.writeStartArray();
+        generator.writeNumber(dateTime.getYear());
+        generator.writeNumber(dateTime.getMonthValue());
+        generator.writeNumber(dateTime.getDayOfMonth());
+        generator.writeNumber(dateTime.getHour());
+        generator.writeNumber(dateTime.getMinute());
+        int seconds = dateTime.getSecond();
+        int nanos = dateTime.getNano();
+        if (seconds > 0 || nanos > 0) {
+            generator.writeNumber(seconds);
+            if (nanos > 0) {
+                generator.writeNumber(nanos);
+            }
+        }
+        generator.writeEndArray();
+    }
+    
+    // Same text as ISO_LOCAL_DATE_TIME: seconds always, fraction without trailing zeros
+    private int formatDateTime(LocalDateTime dateTime) {
+        String date = IsoDates.format(dateTime.toLocalDate());
+        int pos = date.length();
+        date.getChars(0, pos, dateTimeBuffer, 0);
+        LocalTime time = dateTime.toLocalTime();
+        dateTimeBuffer[pos++] = 'T';
+        pos = twoDigits(time.getHour(), pos);
+        dateTimeBuffer[pos++] = ':';
+        pos = twoDigits(time.getMinute(), pos);
+        dateTimeBuffer[pos++] = ':';
+        pos = twoDigits(time.getSecond(), pos);
+        int nanos = time.getNano();
+        if (nanos > 0) {
+            int digits = 9;
+            while (nanos % 10 == 0) {
+                nanos /= 10;
+                digits--;
+            }
+            dateTimeBuffer[pos++] = '.';
+            for (int i = pos + digits - 1; i >= pos; i--) {
+                dateTimeBuffer[i] = (char) ('0' + nanos % 10);
+                nanos /= 10;
+            }
+            pos += digits;
+        }
+        return pos;
+    }
+    
+    private int twoDigits(int value, int pos) {
+        dateTimeBuffer[pos] = (char) ('0' + value / 10);
+        dateTimeBuffer[pos + 1] = (char) ('0' + value % 10);
+        return pos + 2;
+    }
+}
@@ -5,22 +5,25 @@ import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Component
 public class JwtUtil {
     
+    public static final String ROLE_CLAIM = "role";
+    
     @Value("${jwt.secret:eventManagerSecretKey2024ForJWTTokenGenerationWith32Characters}")
     private String secret;
     
-    @Value("${jwt.expiration:86400000}") // 24 hours
+    // Kept short: refresh tokens renew access, and revoked tokens are remembered only this long
+    @Value("${jwt.expiration:900000}") // 15 minutes
     private long expiration;
     
     private SecretKey getSigningKey() {
@@ -42,7 +45,12 @@ public class JwtUtil {
         return claimsResolver.apply(claims);
     }
     
-    private Claims extractAllClaims(String token) {
+    /**
+     * Verifies the signature and expiry of {@code token} and returns its claims.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is invalid or expired
+     */
+    public Claims extractAllClaims(String token) {
         JwtParser parser = Jwts.parser()
                 .verifyWith(getSigningKey())
                 .build();
@@ -50,27 +58,28 @@ public class JwtUtil {
         return parser.parseSignedClaims(token).getPayload();
     }
     
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    /**
+     * An access token naming the user and their role, so requests can be
+     * authenticated without loading the user. The token id makes it revocable.
+     */
+    public String generateToken(String username, String role) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(ROLE_CLAIM, role);
+        return createToken(claims, username);
     }
     
-    public String generateToken(UserDetails userDetails) {
-        Map<String, Object> claims = new HashMap<>();
-        return createToken(claims, userDetails.getUsername());
+    public long getExpiration() {
+        return expiration;
     }
     
     private String createToken(Map<String, Object> claims, String subject) {
         return Jwts.builder()
                 .claims(claims)
+                .id(UUID.randomUUID().toString())
                 .subject(subject)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
                 .signWith(getSigningKey())
                 .compact();
     }
-    
-    public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
-    }
 }
\ No newline at end of file
@@ -0,0 +1,102 @@
+package com.eventmanager.util;
+
+/**
+ * Open-addressing map from positive {@code long} keys to {@code int} values, for
+ * counters keyed by entity id where boxed maps would cost several objects per entry.
+ * Key {@code 0} marks an empty slot, so it cannot be stored. Not thread-safe.
+ */
+public class LongIntHashMap {
+    
+    private static final float LOAD_FACTOR = 0.6f;
+    
+    private long[] keys;
+    private int[] values;
+    private int size;
+    
+    public LongIntHashMap() {
+        this(8);
+    }
+    
+    public LongIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        keys = new long[capacity];
+        values = new int[capacity];
+    }
+    
+    public int get(long key) {
+        int slot = find(key);
+        return keys[slot] == key ? values[slot] : 0;
+    }
+    
+    public void addTo(long key, int delta) {
+        if (key == 0) {
+            throw new IllegalArgumentException("Key 0 is reserved");
+        }
+        int slot = find(key);
+        if (keys[slot] == key) {
+            values[slot] += delta;
+            return;
+        }
+        keys[slot] = key;
+        values[slot] = delta;
+        if (++size > keys.length * LOAD_FACTOR) {
+            resize();
+        }
+    }
+    
+    public void addAll(LongIntHashMap other) {
+        other.forEach(this::addTo);
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public void forEach(Visitor visitor) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                visitor.visit(keys[i], values[i]);
+            }
+        }
+    }
+    
+    private int find(long key) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+    
+    private void resize() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new int[oldValues.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = find(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+    
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+    
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder("{");
+        forEach((key, value) -> out.append(out.length() > 1 ? ", " : "").append(key).append('=').append(value));
+        return out.append('}').toString();
+    }
+    
+    @FunctionalInterface
+    public interface Visitor {
+        void visit(long key, int value);
+    }
+}
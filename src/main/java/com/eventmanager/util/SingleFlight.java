@@ -0,0 +1,79 @@
+package com.eventmanager.util;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent loads of the same key into one execution. The first caller
+ * runs the loader; callers arriving while it is in flight wait for and share its
+ * result (or its exception). Nothing is kept once the load completes.
+ */
+public class SingleFlight<K, V> {
+    
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    
+    public V load(K key, Supplier<V> loader) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            coalesced.increment();
+            return join(existing);
+        }
+        
+        executed.increment();
+        try {
+            V value = loader.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+    
+    public long getExecutedCount() {
+        return executed.sum();
+    }
+    
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+    
+    public void bindTo(MeterRegistry registry, String name) {
+        FunctionCounter.builder("eventmanager.singleflight.loads", executed, LongAdder::sum)
+                .tag("name", name)
+                .tag("result", "executed")
+                .description("Loads that went to the database")
+                .register(registry);
+        FunctionCounter.builder("eventmanager.singleflight.loads", coalesced, LongAdder::sum)
+                .tag("name", name)
+                .tag("result", "coalesced")
+                .description("Loads served by joining an in-flight load")
+                .register(registry);
+    }
+    
+    private V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
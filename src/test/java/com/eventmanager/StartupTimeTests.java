@@ -0,0 +1,43 @@
+package com.eventmanager;
+
+import com.eventmanager.config.StartupConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Measures the fast-start profile; StartupConfig logs both timings. Own database, so this
+// context's schema creation leaves the shared test database alone. Without JDBC metadata
+// lookups Hibernate needs the dialect spelled out.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"spring.datasource.url=jdbc:h2:mem:fast_start;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"})
+@ActiveProfiles("fast-start")
+class StartupTimeTests {
+
+	@Autowired
+	private TestRestTemplate restTemplate;
+
+	@Autowired
+	private StartupConfig startupConfig;
+
+	@Autowired
+	private Environment environment;
+
+	@Test
+	void reportsStartupToFirstRequestUnderFastStart() {
+		assertThat(environment.getProperty("spring.main.lazy-initialization", Boolean.class)).isTrue();
+
+		assertThat(restTemplate.getForEntity("/api/events/available", String.class).getStatusCode())
+				.isEqualTo(HttpStatus.OK);
+
+		assertThat(startupConfig.getTimeToReady()).isNotNull();
+		assertThat(startupConfig.getTimeToFirstRequest()).isGreaterThanOrEqualTo(startupConfig.getTimeToReady());
+	}
+
+}
@@ -0,0 +1,66 @@
+package com.eventmanager;
+
+import com.eventmanager.dto.ApplicationDTO;
+import com.eventmanager.entity.Event;
+import com.eventmanager.entity.User;
+import com.eventmanager.repository.EventRepository;
+import com.eventmanager.repository.UserRepository;
+import com.eventmanager.service.ApplicationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Users, events and callers shared by the integration tests. A plain component
+ * (picked up by every {@code @SpringBootTest} context) so that using it doesn't
+ * change the cached test context.
+ */
+@Component
+@RequiredArgsConstructor
+public class TestFixtures {
+
+	private final UserRepository userRepository;
+	private final EventRepository eventRepository;
+	private final ApplicationService applicationService;
+
+	public User admin() {
+		return userRepository.findByUsername("admin").orElseThrow();
+	}
+
+	public User createUser() {
+		String name = "user-" + UUID.randomUUID();
+		return userRepository.save(User.builder()
+				.username(name)
+				.email(name + "@example.com")
+				.password("unused")
+				.role(User.UserRole.USER)
+				.build());
+	}
+
+	/** An event open for a week; {@code capacity} may be null for no limit. */
+	public Event createEvent(User organizer, Integer capacity) {
+		return eventRepository.save(Event.builder()
+				.title("Fixture event")
+				.uploadDate(LocalDate.now())
+				.expiryDate(LocalDate.now().plusDays(7))
+				.capacity(capacity)
+				.organizer(organizer)
+				.build());
+	}
+
+	/** Makes {@code user} the caller of the service methods that follow. */
+	public void authenticate(User user) {
+		SecurityContextHolder.getContext().setAuthentication(
+				new UsernamePasswordAuthenticationToken(user.getUsername(), null, List.of()));
+	}
+
+	public ApplicationDTO.Response applyAs(User user, Event event) {
+		authenticate(user);
+		return applicationService.applyForEvent(event.getId());
+	}
+}
@@ -0,0 +1,81 @@
+package com.eventmanager.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyStoreTests {
+
+	private final IdempotencyStore store = new IdempotencyStore();
+
+	private final IdempotencyStore.StoredResponse ok = new IdempotencyStore.StoredResponse(200, "application/json",
+			"{}".getBytes());
+
+	@BeforeEach
+	void configure() {
+		ReflectionTestUtils.setField(store, "maxEntries", 2);
+		ReflectionTestUtils.setField(store, "ttl", 60_000L);
+	}
+
+	@Test
+	void concurrentDuplicateWaitsForTheOwner() {
+		assertThat(store.begin("k", "f")).isNull();
+		CompletableFuture<IdempotencyStore.StoredResponse> duplicate = store.begin("k", "f");
+		assertThat(duplicate).isNotDone();
+
+		store.complete("k", ok);
+
+		assertThat(duplicate).isCompletedWithValue(ok);
+		assertThat(store.begin("k", "f")).isCompletedWithValue(ok);
+	}
+
+	@Test
+	void abandonedKeyCanBeClaimedAgain() {
+		assertThat(store.begin("k", "f")).isNull();
+		CompletableFuture<IdempotencyStore.StoredResponse> duplicate = store.begin("k", "f");
+
+		store.abandon("k");
+
+		assertThat(duplicate).isCompletedWithValue(null);
+		assertThat(store.begin("k", "f")).isNull();
+	}
+
+	@Test
+	void oldestCompletedEntryIsEvictedWhenFull() {
+		for (String key : new String[] { "a", "b", "c" }) {
+			store.begin(key, "f");
+			store.complete(key, ok);
+		}
+
+		assertThat(store.begin("a", "f")).isNull();
+		assertThat(store.begin("c", "f")).isCompletedWithValue(ok);
+	}
+
+	@Test
+	void expiredEntriesAreNotReplayed() {
+		ReflectionTestUtils.setField(store, "ttl", -1L);
+		store.begin("k", "f");
+		store.complete("k", ok);
+
+		store.evictExpired();
+
+		assertThat(store.begin("k", "f")).isNull();
+	}
+
+	@Test
+	void keyCannotBeReusedForADifferentRequest() {
+		assertThat(store.begin("k", "f")).isNull();
+		assertThatThrownBy(() -> store.begin("k", "other")).isInstanceOf(IdempotencyStore.KeyReusedException.class);
+
+		store.complete("k", ok);
+
+		assertThatThrownBy(() -> store.begin("k", "other")).isInstanceOf(IdempotencyStore.KeyReusedException.class);
+		assertThat(store.begin("k", "f")).isCompletedWithValue(ok);
+	}
+
+}
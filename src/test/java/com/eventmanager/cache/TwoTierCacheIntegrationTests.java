@@ -0,0 +1,129 @@
+package com.eventmanager.cache;
+
+import com.eventmanager.config.CacheConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs two application contexts in one JVM as two "nodes" sharing the in-memory
+ * shared tier and invalidation bus.
+ */
+class TwoTierCacheIntegrationTests {
+
+	private static final long MAX_INVALIDATION_LATENCY_MS = 500;
+
+	private AnnotationConfigApplicationContext nodeA;
+	private AnnotationConfigApplicationContext nodeB;
+
+	@BeforeEach
+	void startNodes() {
+		InMemorySharedCacheStore.shared().evictByPrefix("");
+		TitleService.DATABASE.put(1L, "v1");
+		nodeA = new AnnotationConfigApplicationContext(NodeConfig.class);
+		nodeB = new AnnotationConfigApplicationContext(NodeConfig.class);
+	}
+
+	@AfterEach
+	void stopNodes() {
+		nodeA.close();
+		nodeB.close();
+	}
+
+	@Test
+	void secondNodeIsServedFromSharedTier() {
+		TitleService serviceA = nodeA.getBean(TitleService.class);
+		TitleService serviceB = nodeB.getBean(TitleService.class);
+
+		assertThat(serviceA.getTitle(1L)).isEqualTo("v1");
+		assertThat(serviceB.getTitle(1L)).isEqualTo("v1");
+
+		assertThat(serviceA.getLoadCount()).isEqualTo(1);
+		assertThat(serviceB.getLoadCount()).isZero();
+	}
+
+	@Test
+	void evictionOnOneNodeInvalidatesTheOthersNearCache() throws Exception {
+		TitleService serviceA = nodeA.getBean(TitleService.class);
+		TitleService serviceB = nodeB.getBean(TitleService.class);
+		TwoTierCache cacheB = (TwoTierCache) nodeB.getBean(TwoTierCacheManager.class).getCache("titles");
+
+		serviceA.getTitle(1L);
+		serviceB.getTitle(1L);
+		assertThat(cacheB.isCachedLocally(1L)).isTrue();
+
+		long start = System.nanoTime();
+		serviceA.updateTitle(1L, "v2");
+		while (cacheB.isCachedLocally(1L)
+				&& System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(MAX_INVALIDATION_LATENCY_MS)) {
+			Thread.onSpinWait();
+		}
+		long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+		System.out.printf("Cross-node invalidation latency: %d us%n", latencyMicros);
+
+		assertThat(cacheB.isCachedLocally(1L)).isFalse();
+		assertThat(serviceB.getTitle(1L)).isEqualTo("v2");
+	}
+
+	@Test
+	void nodeIgnoresItsOwnInvalidations() throws Exception {
+		TitleService serviceA = nodeA.getBean(TitleService.class);
+		TwoTierCache cacheA = (TwoTierCache) nodeA.getBean(TwoTierCacheManager.class).getCache("titles");
+
+		serviceA.getTitle(1L);
+		serviceA.updateTitle(1L, "v2");
+		serviceA.getTitle(1L);
+		Thread.sleep(50);
+
+		assertThat(cacheA.isCachedLocally(1L)).isTrue();
+	}
+
+	@Configuration
+	@Import(CacheConfig.class)
+	static class NodeConfig {
+
+		@Bean
+		TitleService titleService() {
+			return new TitleService();
+		}
+
+	}
+
+	static class TitleService {
+
+		// Plays the role of the database both nodes read from
+		static final Map<Long, String> DATABASE = new ConcurrentHashMap<>();
+
+		private final AtomicInteger loads = new AtomicInteger();
+
+		@Cacheable(cacheNames = "titles", key = "#id")
+		public String getTitle(Long id) {
+			loads.incrementAndGet();
+			return DATABASE.get(id);
+		}
+
+		@CacheEvict(cacheNames = "titles", key = "#id")
+		public void updateTitle(Long id, String title) {
+			DATABASE.put(id, title);
+		}
+
+		public int getLoadCount() {
+			return loads.get();
+		}
+
+	}
+
+}
@@ -0,0 +1,65 @@
+package com.eventmanager.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TwoTierCacheTests {
+
+	private final TwoTierCache cache = new TwoTierCache("loads", "node", new InMemorySharedCacheStore(),
+			InMemoryCacheInvalidationBus.shared(), Duration.ofMinutes(1), Duration.ofMinutes(1));
+	private final ExecutorService callers = Executors.newFixedThreadPool(3);
+
+	@AfterEach
+	void shutdown() {
+		callers.shutdownNow();
+	}
+
+	@Test
+	void slowLoadOfOneKeyDoesNotHoldUpAnother() throws Exception {
+		CountDownLatch slowLoadStarted = new CountDownLatch(1);
+		CountDownLatch releaseSlowLoad = new CountDownLatch(1);
+		Future<String> slow = callers.submit(() -> cache.get("slow", () -> {
+			slowLoadStarted.countDown();
+			releaseSlowLoad.await(5, TimeUnit.SECONDS);
+			return "slow value";
+		}));
+		assertThat(slowLoadStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+		Future<String> fast = callers.submit(() -> cache.get("fast", () -> "fast value"));
+
+		assertThat(fast.get(1, TimeUnit.SECONDS)).isEqualTo("fast value");
+		releaseSlowLoad.countDown();
+		assertThat(slow.get(5, TimeUnit.SECONDS)).isEqualTo("slow value");
+	}
+
+	@Test
+	void concurrentMissesOnOneKeyLoadItOnce() throws Exception {
+		CountDownLatch releaseLoad = new CountDownLatch(1);
+		AtomicInteger loads = new AtomicInteger();
+		Future<String> first = callers.submit(() -> cache.get("key", () -> {
+			loads.incrementAndGet();
+			releaseLoad.await(5, TimeUnit.SECONDS);
+			return "value";
+		}));
+		Future<String> second = callers.submit(() -> cache.get("key", () -> {
+			loads.incrementAndGet();
+			return "value";
+		}));
+		Thread.sleep(50);
+		releaseLoad.countDown();
+
+		assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+		assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+		assertThat(loads).hasValue(1);
+	}
+}
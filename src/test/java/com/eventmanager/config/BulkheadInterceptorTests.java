@@ -0,0 +1,125 @@
+package com.eventmanager.config;
+
+import com.eventmanager.controller.ApplicationController;
+import com.eventmanager.controller.UserController;
+import com.eventmanager.util.Bulkhead;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.sql.Connection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BulkheadInterceptorTests {
+
+	private final Bulkhead userBulkhead = new Bulkhead("user", 2, 0, 0);
+	private final Bulkhead adminBulkhead = new Bulkhead("admin", 1, 0, 0);
+	private final BulkheadInterceptor interceptor = new BulkheadInterceptor(userBulkhead, adminBulkhead);
+	private final HikariDataSource userPool = pool("user");
+	private final HikariDataSource adminPool = pool("admin");
+	private final BulkheadRoutingDataSource dataSource = new BulkheadRoutingDataSource(userPool, adminPool);
+
+	@AfterEach
+	void closePools() {
+		dataSource.close();
+	}
+
+	@Test
+	void fullAdminBulkheadRejectsAdminRoutesOnly() throws Exception {
+		HandlerMethod listUsers = handler(new UserController(null), "getAllUsers");
+		HandlerMethod apply = handler(new ApplicationController(null), "applyForEvent", Long.class);
+		MockHttpServletRequest running = new MockHttpServletRequest();
+		assertThat(interceptor.preHandle(running, new MockHttpServletResponse(), listUsers)).isTrue();
+
+		MockHttpServletResponse rejected = new MockHttpServletResponse();
+		assertThat(onOtherThread(() -> interceptor.preHandle(new MockHttpServletRequest(), rejected, listUsers)))
+				.isFalse();
+		assertThat(rejected.getStatus()).isEqualTo(503);
+		assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+		assertThat(onOtherThread(() -> interceptor.preHandle(new MockHttpServletRequest(),
+				new MockHttpServletResponse(), apply))).isTrue();
+
+		interceptor.afterCompletion(running, new MockHttpServletResponse(), listUsers, null);
+		assertThat(adminBulkhead.getActiveCount()).isZero();
+		assertThat(adminBulkhead.getRejectedCount()).isEqualTo(1);
+	}
+
+	@Test
+	void connectionsComeFromThePoolOfTheCurrentRoute() throws Exception {
+		HandlerMethod listUsers = handler(new UserController(null), "getAllUsers");
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		interceptor.preHandle(request, new MockHttpServletResponse(), listUsers);
+		try (Connection connection = dataSource.getConnection()) {
+			assertThat(adminPool.getHikariPoolMXBean().getActiveConnections()).isEqualTo(1);
+		} finally {
+			interceptor.afterCompletion(request, new MockHttpServletResponse(), listUsers, null);
+		}
+
+		try (Connection connection = dataSource.getConnection()) {
+			assertThat(userPool.getHikariPoolMXBean().getActiveConnections()).isEqualTo(1);
+			assertThat(adminPool.getHikariPoolMXBean().getActiveConnections()).isZero();
+		}
+	}
+
+	@Test
+	void bothPoolsTakeTheSharedHikariSettings() {
+		HikariConfig settings = new HikariConfig();
+		settings.setConnectionTimeout(1234);
+		settings.setMaximumPoolSize(50);
+		DataSourceProperties properties = new DataSourceProperties();
+		properties.setUrl("jdbc:h2:mem:bulkhead_settings");
+		BulkheadConfig config = new BulkheadConfig(new SimpleMeterRegistry(), 2, 0, 0, 1, 0, 0);
+
+		try (BulkheadRoutingDataSource configured = config.dataSource(properties, new SimpleMeterRegistry(),
+				settings, 3, 1)) {
+			for (Object target : configured.getResolvedDataSources().values()) {
+				HikariDataSource pool = (HikariDataSource) target;
+				assertThat(pool.getConnectionTimeout()).isEqualTo(1234);
+				assertThat(pool.getJdbcUrl()).isEqualTo("jdbc:h2:mem:bulkhead_settings");
+				assertThat(pool.getMaximumPoolSize()).isEqualTo(pool.getPoolName().equals("user") ? 3 : 1);
+			}
+		}
+	}
+
+	private static HandlerMethod handler(Object controller, String name, Class<?>... parameterTypes)
+			throws NoSuchMethodException {
+		return new HandlerMethod(controller, controller.getClass().getMethod(name, parameterTypes));
+	}
+
+	private static boolean onOtherThread(ThrowingSupplier call) throws Exception {
+		boolean[] result = new boolean[1];
+		Exception[] failure = new Exception[1];
+		Thread thread = new Thread(() -> {
+			try {
+				result[0] = call.get();
+			} catch (Exception e) {
+				failure[0] = e;
+			}
+		});
+		thread.start();
+		thread.join();
+		if (failure[0] != null) {
+			throw failure[0];
+		}
+		return result[0];
+	}
+
+	private static HikariDataSource pool(String name) {
+		HikariDataSource pool = new HikariDataSource();
+		pool.setJdbcUrl("jdbc:h2:mem:bulkhead");
+		pool.setPoolName(name);
+		pool.setMaximumPoolSize(2);
+		return pool;
+	}
+
+	private interface ThrowingSupplier {
+		boolean get() throws Exception;
+	}
+}
@@ -0,0 +1,174 @@
+package com.eventmanager.config;
+
+import com.eventmanager.cache.IdempotencyStore;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyFilterTests {
+
+	private final IdempotencyStore store = new IdempotencyStore();
+	private final ExecutorService clients = Executors.newFixedThreadPool(4);
+	private final AtomicInteger runs = new AtomicInteger();
+	private final CountDownLatch firstRunStarted = new CountDownLatch(1);
+	private final CountDownLatch releaseFirstRun = new CountDownLatch(1);
+
+	@BeforeEach
+	void configure() {
+		ReflectionTestUtils.setField(store, "maxEntries", 100);
+		ReflectionTestUtils.setField(store, "ttl", 60_000L);
+	}
+
+	@AfterEach
+	void shutdown() {
+		releaseFirstRun.countDown();
+		clients.shutdownNow();
+	}
+
+	@Test
+	void duplicatesOfAFailedRequestRunItOnlyOnceMore() throws Exception {
+		IdempotencyFilter filter = new IdempotencyFilter(store, 10_000);
+		// The first run fails with a server error after the duplicates are already waiting
+		FilterChain chain = handler(500);
+		Future<MockHttpServletResponse> first = clients.submit(() -> send(filter, chain, "{\"title\":\"A\"}"));
+		assertThat(firstRunStarted.await(5, TimeUnit.SECONDS)).isTrue();
+		List<Future<MockHttpServletResponse>> duplicates = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			duplicates.add(clients.submit(() -> send(filter, chain, "{\"title\":\"A\"}")));
+		}
+		Thread.sleep(100);
+		releaseFirstRun.countDown();
+
+		assertThat(first.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(500);
+		int replayed = 0;
+		for (Future<MockHttpServletResponse> duplicate : duplicates) {
+			MockHttpServletResponse response = duplicate.get(5, TimeUnit.SECONDS);
+			assertThat(response.getStatus()).isEqualTo(201);
+			assertThat(response.getContentAsString()).isEqualTo("created 2");
+			if ("true".equals(response.getHeader(IdempotencyFilter.REPLAYED_HEADER))) {
+				replayed++;
+			}
+		}
+		assertThat(runs).hasValue(2);
+		assertThat(replayed).isEqualTo(2);
+	}
+
+	@Test
+	void duplicateThatOutwaitsTheFirstRunGetsConflict() throws Exception {
+		IdempotencyFilter filter = new IdempotencyFilter(store, 50);
+		FilterChain chain = handler(201);
+		clients.submit(() -> send(filter, chain, "{}"));
+		assertThat(firstRunStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+		MockHttpServletResponse duplicate = send(filter, chain, "{}");
+
+		assertThat(duplicate.getStatus()).isEqualTo(409);
+		assertThat(duplicate.getHeader("Retry-After")).isEqualTo("1");
+		assertThat(runs).hasValue(1);
+	}
+
+	@Test
+	void keyReusedWithADifferentBodyIsRejected() throws Exception {
+		IdempotencyFilter filter = new IdempotencyFilter(store, 10_000);
+		FilterChain chain = handler(201);
+		releaseFirstRun.countDown();
+
+		assertThat(send(filter, chain, "{\"title\":\"A\"}").getStatus()).isEqualTo(201);
+		assertThat(send(filter, chain, "{\"title\":\"B\"}").getStatus()).isEqualTo(422);
+		assertThat(send(filter, chain, "{\"title\":\"A\"}").getHeader(IdempotencyFilter.REPLAYED_HEADER))
+				.isEqualTo("true");
+		assertThat(runs).hasValue(1);
+	}
+
+	@Test
+	void nonBlockingReadersGetTheWholeBody() throws Exception {
+		IdempotencyFilter filter = new IdempotencyFilter(store, 1000);
+		ByteArrayOutputStream received = new ByteArrayOutputStream();
+		AtomicBoolean allRead = new AtomicBoolean();
+		FilterChain chain = (request, response) -> {
+			ServletInputStream in = request.getInputStream();
+			in.setReadListener(new ReadListener() {
+				@Override
+				public void onDataAvailable() throws IOException {
+					while (in.isReady() && !in.isFinished()) {
+						received.write(in.read());
+					}
+				}
+
+				@Override
+				public void onAllDataRead() {
+					allRead.set(true);
+				}
+
+				@Override
+				public void onError(Throwable t) {
+				}
+			});
+			((HttpServletResponse) response).setStatus(201);
+		};
+
+		assertThat(send(filter, chain, "{\"title\":\"A\"}").getStatus()).isEqualTo(201);
+		assertThat(received.toString(StandardCharsets.UTF_8)).isEqualTo("{\"title\":\"A\"}");
+		assertThat(allRead).isTrue();
+	}
+
+	// Holds the first run until released and answers it with firstStatus; later runs succeed
+	private FilterChain handler(int firstStatus) {
+		return (request, response) -> {
+			int run = runs.incrementAndGet();
+			request.getInputStream().readAllBytes();
+			if (run == 1) {
+				firstRunStarted.countDown();
+				try {
+					releaseFirstRun.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				((HttpServletResponse) response).setStatus(firstStatus);
+			} else {
+				((HttpServletResponse) response).setStatus(201);
+			}
+			response.getOutputStream().write(("created " + run).getBytes(StandardCharsets.UTF_8));
+		};
+	}
+
+	private MockHttpServletResponse send(IdempotencyFilter filter, FilterChain chain, String body) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/events");
+		request.setServletPath("/api/events");
+		request.addHeader(IdempotencyFilter.HEADER, "key-1");
+		request.setContent(body.getBytes(StandardCharsets.UTF_8));
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		SecurityContextHolder.getContext().setAuthentication(
+				new UsernamePasswordAuthenticationToken("alice", null, List.of()));
+		try {
+			filter.doFilter(request, response, chain);
+		} finally {
+			SecurityContextHolder.clearContext();
+		}
+		return response;
+	}
+}
@@ -0,0 +1,55 @@
+package com.eventmanager.config;
+
+import com.eventmanager.dto.EventDTO;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WebConfigTests {
+
+	private final WebConfig webConfig = new WebConfig();
+
+	@Test
+	void cborIsSmallerThanJsonAndRoundTrips() throws Exception {
+		List<EventDTO.Response> events = sampleEvents(500);
+		ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+		ObjectMapper cbor = webConfig.cborHttpMessageConverter(Jackson2ObjectMapperBuilder.json()).getObjectMapper();
+
+		byte[] jsonBytes = json.writeValueAsBytes(events);
+		byte[] cborBytes = cbor.writeValueAsBytes(events);
+
+		assertThat(cborBytes.length).isLessThan(jsonBytes.length);
+		assertThat(cbor.readValue(cborBytes, new TypeReference<List<EventDTO.Response>>() {})).isEqualTo(events);
+	}
+
+	@Test
+	void smileIsSmallerThanJsonAndRoundTrips() throws Exception {
+		List<EventDTO.Response> events = sampleEvents(500);
+		ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+		ObjectMapper smile = webConfig.smileHttpMessageConverter(Jackson2ObjectMapperBuilder.json()).getObjectMapper();
+
+		byte[] jsonBytes = json.writeValueAsBytes(events);
+		byte[] smileBytes = smile.writeValueAsBytes(events);
+
+		assertThat(smileBytes.length).isLessThan(jsonBytes.length);
+		assertThat(smile.readValue(smileBytes, new TypeReference<List<EventDTO.Response>>() {})).isEqualTo(events);
+	}
+
+	private List<EventDTO.Response> sampleEvents(int count) {
+		List<EventDTO.Response> events = new ArrayList<>();
+		LocalDate today = LocalDate.of(2024, 11, 16);
+		for (long i = 1; i <= count; i++) {
+			events.add(new EventDTO.Response(i, "Event " + i, "Description of event " + i,
+					today.minusDays(i % 30), today.plusDays(i % 90), 1L, "admin", 100, null));
+		}
+		return events;
+	}
+
+}
@@ -0,0 +1,84 @@
+package com.eventmanager.jfr;
+
+import com.eventmanager.repository.EventRepository;
+import com.eventmanager.service.EventService;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.Resource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class JfrEventsTests {
+
+	@Autowired
+	private EventService eventService;
+
+	@Autowired
+	private EventRepository eventRepository;
+
+	@Autowired
+	private JfrEndpoint jfrEndpoint;
+
+	@AfterEach
+	void cleanUp() {
+		SecurityContextHolder.clearContext();
+		jfrEndpoint.stop();
+	}
+
+	@Test
+	void serviceAndRepositoryCallsAreRecorded() throws Exception {
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+				"admin", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+		Path file = Files.createTempFile("jfr-events-", ".jfr");
+		try (Recording recording = new Recording()) {
+			recording.enable(ServiceCallEvent.class).withThreshold(Duration.ZERO);
+			recording.enable(RepositoryCallEvent.class).withThreshold(Duration.ZERO);
+			recording.start();
+			eventService.getAllEvents();
+			eventRepository.findById(-1L);
+			recording.stop();
+			recording.dump(file);
+
+			List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+			assertThat(events).anySatisfy(event -> {
+				assertThat(event.getEventType().getName()).isEqualTo("eventmanager.ServiceCall");
+				assertThat(event.getString("operation")).isEqualTo("EventService.getAllEvents");
+				assertThat(event.getString("role")).isEqualTo("ROLE_ADMIN");
+			});
+			assertThat(events).anySatisfy(event -> {
+				assertThat(event.getEventType().getName()).isEqualTo("eventmanager.RepositoryCall");
+				assertThat(event.getString("operation")).isEqualTo("EventRepository.findById");
+				assertThat(event.getInt("rows")).isZero();
+			});
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@Test
+	void endpointStartsAndDumpsBoundedRecording() throws Exception {
+		assertThat(jfrEndpoint.start(60L, 10_000_000L)).containsEntry("maxAgeSeconds", 60L);
+
+		WebEndpointResponse<Resource> dump = jfrEndpoint.dump("dump");
+
+		assertThat(dump.getStatus()).isEqualTo(200);
+		assertThat(dump.getBody().contentLength()).isPositive();
+		assertThat(jfrEndpoint.stop()).containsEntry("state", RecordingState.CLOSED);
+	}
+}
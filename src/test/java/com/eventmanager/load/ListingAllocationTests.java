@@ -0,0 +1,103 @@
+package com.eventmanager.load;
+
+import com.eventmanager.dto.EventDTO;
+import com.eventmanager.dto.RowStream;
+import com.eventmanager.entity.Event;
+import com.eventmanager.repository.EventRepository;
+import com.eventmanager.repository.ListingRowStreams;
+import com.eventmanager.util.JsonRowWriter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bytes allocated per row when serializing the admin event listing, comparing
+ * the JPA entity to DTO to Jackson path with the JDBC row stream. Measured with
+ * the per-thread allocation counter after a warm-up. Run with
+ * {@code mvn test -Pload-test -Dtest=ListingAllocationTests}; {@code load.events}
+ * and {@code load.iterations} size the run.
+ */
+@Tag("load")
+@SpringBootTest
+class ListingAllocationTests {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private EventRepository eventRepository;
+
+	@Autowired
+	private ListingRowStreams listingRowStreams;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void rowStreamAllocatesLessPerRow() throws Exception {
+		int events = Integer.getInteger("load.events", 20_000);
+		int iterations = Integer.getInteger("load.iterations", 20);
+		new SyntheticDataGenerator(jdbcTemplate, 42).generate(100, events, 0);
+		int rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM events WHERE deleted = false", Integer.class);
+
+		Workload viaDtos = () -> transactionTemplate.executeWithoutResult(status -> {
+			List<EventDTO.Response> dtos = eventRepository.findAll().stream().map(ListingAllocationTests::toDto).toList();
+			try {
+				objectMapper.writeValue(OutputStream.nullOutputStream(), dtos);
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		Workload viaRowStream = () -> write(listingRowStreams.allEvents());
+
+		double dtoBytes = bytesPerRow(viaDtos, rows, iterations);
+		double streamBytes = bytesPerRow(viaRowStream, rows, iterations);
+		System.out.printf("%n%d rows: entity/DTO/Jackson %.0f B/row, row stream %.0f B/row (%.0f%% less)%n%n",
+				rows, dtoBytes, streamBytes, 100 * (1 - streamBytes / dtoBytes));
+
+		assertThat(streamBytes).isLessThan(dtoBytes);
+	}
+
+	private void write(RowStream rows) throws Exception {
+		try (JsonGenerator generator = objectMapper.getFactory().createGenerator(OutputStream.nullOutputStream())) {
+			rows.writeTo(new JsonRowWriter(generator, false));
+		}
+	}
+
+	private static double bytesPerRow(Workload workload, int rows, int iterations) throws Exception {
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		for (int i = 0; i < iterations; i++) {
+			workload.run();
+		}
+		long before = threads.getCurrentThreadAllocatedBytes();
+		for (int i = 0; i < iterations; i++) {
+			workload.run();
+		}
+		return (threads.getCurrentThreadAllocatedBytes() - before) / (double) iterations / rows;
+	}
+
+	private static EventDTO.Response toDto(Event event) {
+		return new EventDTO.Response(event.getId(), event.getTitle(), event.getDescription(), event.getUploadDate(),
+				event.getExpiryDate(), event.getOrganizer().getId(), event.getOrganizer().getUsername(),
+				event.getCapacity(), null);
+	}
+
+	@FunctionalInterface
+	private interface Workload {
+		void run() throws Exception;
+	}
+}
@@ -0,0 +1,245 @@
+package com.eventmanager.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Scripted HTTP load against a full application on an embedded database.
+ * Excluded from the default build; run with {@code mvn test -Pload-test}.
+ *
+ * <p>Tunables (system properties): {@code load.users}, {@code load.events},
+ * {@code load.applications}, {@code load.virtualUsers}, {@code load.threads},
+ * {@code load.durationSeconds} and {@code load.maxP99Ms}, which fails the run
+ * when any operation's p99 exceeds it.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class LoadTests {
+
+	private static final String ADMIN_PASSWORD = "admin123";
+
+	private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void mixedWorkload() throws Exception {
+		int users = Integer.getInteger("load.users", 10_000);
+		int events = Integer.getInteger("load.events", 1_000);
+		int applications = Integer.getInteger("load.applications", 100_000);
+		int virtualUsers = Integer.getInteger("load.virtualUsers", 50);
+		int threads = Integer.getInteger("load.threads", 32);
+		long durationSeconds = Long.getLong("load.durationSeconds", 30);
+
+		long started = System.nanoTime();
+		SyntheticDataGenerator.Dataset dataset = new SyntheticDataGenerator(jdbcTemplate, 42)
+				.generate(users, events, applications);
+		System.out.printf("Generated %d users, %d events, %d applications in %d ms%n", dataset.users(),
+				dataset.events(), dataset.applications(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+
+		String adminToken = login("admin", ADMIN_PASSWORD);
+		List<String> userTokens = new ArrayList<>();
+		for (int i = 0; i < virtualUsers; i++) {
+			userTokens.add(login("user" + (dataset.firstUserId() + i), SyntheticDataGenerator.PASSWORD));
+		}
+		SyntheticDataGenerator.ZipfSampler hotEvents = new SyntheticDataGenerator.ZipfSampler(
+				dataset.events(), 1.1, new Random(7));
+
+		recorders.clear();
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(durationSeconds);
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		for (int t = 0; t < threads; t++) {
+			pool.execute(() -> {
+				while (System.nanoTime() < deadline) {
+					ThreadLocalRandom random = ThreadLocalRandom.current();
+					String token = userTokens.get(random.nextInt(userTokens.size()));
+					long eventId;
+					synchronized (hotEvents) {
+						eventId = dataset.firstEventId() + hotEvents.sample();
+					}
+					int roll = random.nextInt(100);
+					if (roll < 30) {
+						call("browse.available", get("/api/events/available", null));
+					} else if (roll < 45) {
+						call("browse.active", get("/api/events/active", token));
+					} else if (roll < 60) {
+						call("browse.byId", get("/api/events/" + eventId, token));
+					} else if (roll < 80) {
+						call("apply", post("/api/applications/apply/" + eventId, token, ""));
+					} else if (roll < 85) {
+						long user = dataset.firstUserId() + random.nextInt(virtualUsers);
+						call("login", post("/api/auth/login", null, credentials("user" + user,
+								SyntheticDataGenerator.PASSWORD)));
+					} else {
+						moderate(adminToken);
+					}
+				}
+			});
+		}
+		pool.shutdown();
+		assertThat(pool.awaitTermination(durationSeconds + 60, TimeUnit.SECONDS)).isTrue();
+
+		report(durationSeconds);
+	}
+
+	private void moderate(String adminToken) {
+		HttpResponse<String> page = call("admin.listPending",
+				get("/api/applications?status=PENDING&size=20", adminToken));
+		if (page == null || page.statusCode() != 200) {
+			return;
+		}
+		try {
+			JsonNode rows = objectMapper.readTree(page.body());
+			if (rows.size() > 0) {
+				JsonNode row = rows.get(ThreadLocalRandom.current().nextInt(rows.size()));
+				String action = ThreadLocalRandom.current().nextBoolean() ? "approve" : "reject";
+				call("admin." + action, put("/api/applications/" + row.get("id").asLong() + "/" + action, adminToken));
+			}
+		} catch (Exception e) {
+			recorder("admin.listPending").failure();
+		}
+	}
+
+	private void report(long durationSeconds) {
+		System.out.printf("%n%-20s %10s %8s %10s %10s %12s%n", "operation", "requests", "failed", "p50 (ms)",
+				"p99 (ms)", "req/s");
+		Long maxP99Ms = Long.getLong("load.maxP99Ms");
+		List<String> regressions = new ArrayList<>();
+		recorders.entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(entry -> {
+			Recorder recorder = entry.getValue();
+			double p50 = recorder.percentileMillis(50);
+			double p99 = recorder.percentileMillis(99);
+			System.out.printf("%-20s %10d %8d %10.2f %10.2f %12.1f%n", entry.getKey(), recorder.count(),
+					recorder.failures(), p50, p99, recorder.count() / (double) durationSeconds);
+			if (maxP99Ms != null && p99 > maxP99Ms) {
+				regressions.add(entry.getKey() + " p99=" + p99 + "ms");
+			}
+		});
+		assertThat(regressions).as("operations over load.maxP99Ms").isEmpty();
+	}
+
+	private HttpResponse<String> call(String operation, HttpRequest request) {
+		long start = System.nanoTime();
+		try {
+			HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+			Recorder recorder = recorder(operation);
+			recorder.record(System.nanoTime() - start);
+			if (response.statusCode() >= 400) {
+				// Duplicate applications and already-processed moderation races land here
+				recorder.failure();
+			}
+			return response;
+		} catch (Exception e) {
+			recorder(operation).failure();
+			return null;
+		}
+	}
+
+	private Recorder recorder(String operation) {
+		return recorders.computeIfAbsent(operation, op -> new Recorder());
+	}
+
+	private String login(String username, String password) throws Exception {
+		HttpResponse<String> response = client.send(post("/api/auth/login", null, credentials(username, password)),
+				HttpResponse.BodyHandlers.ofString());
+		assertThat(response.statusCode()).as("login of %s", username).isEqualTo(200);
+		return objectMapper.readTree(response.body()).get("token").asText();
+	}
+
+	private String credentials(String username, String password) {
+		return objectMapper.createObjectNode().put("username", username).put("password", password).toString();
+	}
+
+	private HttpRequest get(String path, String token) {
+		return request(path, token).GET().build();
+	}
+
+	private HttpRequest post(String path, String token, String body) {
+		return request(path, token).POST(HttpRequest.BodyPublishers.ofString(body)).build();
+	}
+
+	private HttpRequest put(String path, String token) {
+		return request(path, token).PUT(HttpRequest.BodyPublishers.noBody()).build();
+	}
+
+	private HttpRequest.Builder request(String path, String token) {
+		HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+				.timeout(Duration.ofSeconds(30))
+				.header("Content-Type", "application/json");
+		if (token != null) {
+			builder.header("Authorization", "Bearer " + token);
+		}
+		return builder;
+	}
+
+	/**
+	 * Collects raw latencies; fine for runs of a few million requests.
+	 */
+	private static class Recorder {
+
+		private long[] samples = new long[1024];
+		private int count;
+		private int failures;
+
+		synchronized void record(long nanos) {
+			if (count == samples.length) {
+				samples = Arrays.copyOf(samples, count * 2);
+			}
+			samples[count++] = nanos;
+		}
+
+		synchronized void failure() {
+			failures++;
+		}
+
+		synchronized int count() {
+			return count;
+		}
+
+		synchronized int failures() {
+			return failures;
+		}
+
+		synchronized double percentileMillis(double percentile) {
+			if (count == 0) {
+				return 0;
+			}
+			long[] sorted = Arrays.copyOf(samples, count);
+			Arrays.sort(sorted);
+			int index = (int) Math.ceil(percentile / 100 * count) - 1;
+			return sorted[Math.max(index, 0)] / 1_000_000.0;
+		}
+
+	}
+
+}
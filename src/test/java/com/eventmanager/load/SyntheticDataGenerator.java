@@ -0,0 +1,186 @@
+package com.eventmanager.load;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Bulk-loads users, events and applications with production-like skew: a few hot
+ * events attract most applications and a few power users apply to many events.
+ * Rows are written with JDBC batches and explicit ids, bypassing JPA.
+ * Every generated user can log in as {@code user<n>} / {@link #PASSWORD}.
+ */
+public class SyntheticDataGenerator {
+
+	public static final String PASSWORD = "password123";
+
+	private static final int BATCH_SIZE = 5_000;
+
+	private final JdbcTemplate jdbcTemplate;
+	private final Random random;
+
+	public SyntheticDataGenerator(JdbcTemplate jdbcTemplate, long seed) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.random = new Random(seed);
+	}
+
+	public Dataset generate(int users, int events, int applications) {
+		long firstUserId = nextId("users");
+		long firstEventId = nextId("events");
+		long firstApplicationId = nextId("event_applications");
+		long organizerId = jdbcTemplate.queryForObject(
+				"SELECT MIN(id) FROM users WHERE role = 'ADMIN'", Long.class);
+
+		insertUsers(firstUserId, users);
+		insertEvents(firstEventId, events, organizerId);
+		long inserted = insertApplications(firstApplicationId, firstUserId, users, firstEventId, events, applications);
+		restartIdentity("users");
+		restartIdentity("events");
+		restartIdentity("event_applications");
+
+		return new Dataset(firstUserId, users, firstEventId, events, inserted);
+	}
+
+	private void insertUsers(long firstId, int count) {
+		String password = new BCryptPasswordEncoder().encode(PASSWORD);
+		Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+		List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+		for (int i = 0; i < count; i++) {
+			long id = firstId + i;
+			batch.add(new Object[] { id, "user" + id, "user" + id + "@example.com", password, "USER", now });
+			flushIfFull(batch, "INSERT INTO users (id, username, email, password, role, created_date, deleted) "
+					+ "VALUES (?, ?, ?, ?, ?, ?, FALSE)");
+		}
+		flush(batch, "INSERT INTO users (id, username, email, password, role, created_date, deleted) "
+				+ "VALUES (?, ?, ?, ?, ?, ?, FALSE)");
+	}
+
+	private void insertEvents(long firstId, int count, long organizerId) {
+		String sql = "INSERT INTO events (id, title, description, upload_date, expiry_date, organizer_id, deleted) "
+				+ "VALUES (?, ?, ?, ?, ?, ?, FALSE)";
+		LocalDate today = LocalDate.now();
+		List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+		for (int i = 0; i < count; i++) {
+			long id = firstId + i;
+			LocalDate uploadDate = today.minusDays(random.nextInt(60));
+			// Most events are still open; the rest expired recently
+			LocalDate expiryDate = random.nextDouble() < 0.8
+					? today.plusDays(1 + random.nextInt(90))
+					: today.minusDays(1 + random.nextInt(30));
+			batch.add(new Object[] { id, "Event " + id, "Synthetic event " + id,
+					Date.valueOf(uploadDate), Date.valueOf(expiryDate), organizerId });
+			flushIfFull(batch, sql);
+		}
+		flush(batch, sql);
+	}
+
+	private long insertApplications(long firstId, long firstUserId, int users,
+									long firstEventId, int events, int target) {
+		String sql = "INSERT INTO event_applications (id, event_id, user_id, application_date, status) "
+				+ "VALUES (?, ?, ?, ?, ?)";
+		ZipfSampler eventPopularity = new ZipfSampler(events, 1.1, random);
+		ZipfSampler userActivity = new ZipfSampler(users, 0.9, random);
+		LocalDateTime now = LocalDateTime.now();
+		List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+
+		// Hand out the application budget by user activity, then pick distinct events per user
+		int[] perUser = new int[users];
+		for (int i = 0; i < target; i++) {
+			perUser[userActivity.sample()]++;
+		}
+
+		long id = firstId;
+		Set<Integer> chosen = new HashSet<>();
+		for (int user = 0; user < users; user++) {
+			int wanted = Math.min(perUser[user], events);
+			chosen.clear();
+			for (int attempts = 0; chosen.size() < wanted && attempts < wanted * 4; attempts++) {
+				chosen.add(eventPopularity.sample());
+			}
+			for (int event : chosen) {
+				batch.add(new Object[] { id++, firstEventId + event, firstUserId + user,
+						Timestamp.valueOf(now.minusMinutes(random.nextInt(60 * 24 * 30))), randomStatus() });
+				flushIfFull(batch, sql);
+			}
+		}
+		flush(batch, sql);
+		return id - firstId;
+	}
+
+	private String randomStatus() {
+		double roll = random.nextDouble();
+		return roll < 0.7 ? "PENDING" : roll < 0.9 ? "APPROVED" : "REJECTED";
+	}
+
+	private long nextId(String table) {
+		Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+		return max == null ? 1 : max + 1;
+	}
+
+	/**
+	 * MySQL moves AUTO_INCREMENT past explicit ids on its own; H2 has to be told.
+	 */
+	private void restartIdentity(String table) {
+		try {
+			jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + nextId(table));
+		} catch (DataAccessException e) {
+			// Not H2
+		}
+	}
+
+	private void flushIfFull(List<Object[]> batch, String sql) {
+		if (batch.size() >= BATCH_SIZE) {
+			flush(batch, sql);
+		}
+	}
+
+	private void flush(List<Object[]> batch, String sql) {
+		if (!batch.isEmpty()) {
+			jdbcTemplate.batchUpdate(sql, batch);
+			batch.clear();
+		}
+	}
+
+	public record Dataset(long firstUserId, int users, long firstEventId, int events, long applications) {
+	}
+
+	/**
+	 * Samples ranks 0..n-1 with probability proportional to 1 / (rank + 1)^exponent.
+	 */
+	static class ZipfSampler {
+
+		private final double[] cumulative;
+		private final Random random;
+
+		ZipfSampler(int n, double exponent, Random random) {
+			this.random = random;
+			this.cumulative = new double[n];
+			double sum = 0;
+			for (int i = 0; i < n; i++) {
+				sum += 1.0 / Math.pow(i + 1, exponent);
+				cumulative[i] = sum;
+			}
+			for (int i = 0; i < n; i++) {
+				cumulative[i] /= sum;
+			}
+		}
+
+		int sample() {
+			int index = Arrays.binarySearch(cumulative, random.nextDouble());
+			return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+		}
+
+	}
+
+}
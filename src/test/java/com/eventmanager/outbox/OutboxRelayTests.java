@@ -0,0 +1,97 @@
+package com.eventmanager.outbox;
+
+import com.eventmanager.TestFixtures;
+import com.eventmanager.dto.ApplicationDTO;
+import com.eventmanager.repository.OutboxRepository;
+import com.eventmanager.service.ApplicationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class OutboxRelayTests {
+
+	@Autowired
+	private ApplicationService applicationService;
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	@Autowired
+	private OutboxRepository outboxRepository;
+
+	@Autowired
+	private OutboxRelay relay;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Value("${outbox.file}")
+	private Path outboxFile;
+
+	@BeforeEach
+	void drainOutbox() throws IOException {
+		relay.relay();
+		Files.deleteIfExists(outboxFile);
+	}
+
+	@AfterEach
+	void clearAuthentication() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void applicationChangesAreDeliveredAndRemoved() throws IOException {
+		ApplicationDTO.Response application = applyToNewEvent();
+		fixtures.authenticate(fixtures.admin());
+		applicationService.rejectApplication(application.getId());
+
+		assertThat(relay.relay()).isGreaterThanOrEqualTo(2);
+
+		assertThat(outboxRepository.count()).isZero();
+		List<String> lines = Files.readAllLines(outboxFile).stream()
+				.filter(line -> line.contains("\"aggregateId\":" + application.getId() + ","))
+				.toList();
+		assertThat(lines).hasSize(2);
+		assertThat(lines.get(0)).contains("\"type\":\"APPLICATION_CREATED\"", "\"status\":\"PENDING\"");
+		assertThat(lines.get(1)).contains("\"type\":\"APPLICATION_STATUS_CHANGED\"",
+				"\"status\":\"REJECTED\"", "\"previousStatus\":\"PENDING\"");
+	}
+
+	@Test
+	void failedDeliveryLeavesMessagesForTheNextPoll() {
+		applyToNewEvent();
+		OutboxRelay failing = new OutboxRelay(jdbcTemplate, transactionTemplate, messages -> {
+			throw new IOException("broker down");
+		}, new SimpleMeterRegistry());
+		failing.registerMetrics();
+		ReflectionTestUtils.setField(failing, "batchSize", 500);
+		long pending = outboxRepository.count();
+
+		assertThat(failing.relay()).isZero();
+		assertThat(outboxRepository.count()).isEqualTo(pending);
+		assertThat(relay.relay()).isEqualTo(pending);
+	}
+
+	private ApplicationDTO.Response applyToNewEvent() {
+		return fixtures.applyAs(fixtures.createUser(), fixtures.createEvent(fixtures.admin(), null));
+	}
+}
@@ -0,0 +1,100 @@
+package com.eventmanager.repository;
+
+import com.eventmanager.entity.Application.ApplicationStatus;
+import com.eventmanager.entity.Event;
+import com.eventmanager.entity.User;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+import static com.eventmanager.repository.ApplicationSpecifications.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that per-event application queries read only the event's own range of an
+ * event_id-leading index, never the whole table.
+ */
+// Own database, so this context's schema creation leaves the shared test database alone
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:access_path;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+		"spring.jpa.properties.hibernate.session_factory.statement_inspector="
+				+ "com.eventmanager.repository.ApplicationAccessPathTests$CapturingInspector"})
+class ApplicationAccessPathTests {
+
+	// H2 prints the chosen index and its lookup condition right after the table
+	private static final Pattern EVENT_RANGE = Pattern.compile(
+			"\"event_applications\" \"a1_0\"\\s+/\\* public\\.\\w+: [^*]*event_id = \\?1\\b");
+
+	@Autowired
+	private ApplicationRepository applicationRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private final Event event = new Event();
+	private final User user = new User();
+
+	@BeforeEach
+	void setUp() {
+		event.setId(1L);
+		user.setId(1L);
+	}
+
+	@Test
+	void capacityAndDuplicateChecksStayWithinTheEvent() {
+		assertReadsEventRange(() -> applicationRepository.countByEventAndStatus(event, ApplicationStatus.APPROVED),
+				1L, "APPROVED");
+		assertReadsEventRange(() -> applicationRepository.existsByEventAndUser(event, user), 1L, 1L, 1);
+	}
+
+	@Test
+	void waitlistQueriesStayWithinTheEvent() {
+		assertReadsEventRange(() -> applicationRepository.findFirstByEventIdAndStatusOrderByWaitlistPositionAsc(
+				1L, ApplicationStatus.WAITLISTED), 1L, "WAITLISTED", 1);
+		assertReadsEventRange(() -> applicationRepository.countByEventIdAndStatusAndWaitlistPositionLessThan(
+				1L, ApplicationStatus.WAITLISTED, 10L), 1L, "WAITLISTED", 10L);
+		assertReadsEventRange(() -> applicationRepository.findMaxWaitlistPosition(1L), 1L);
+	}
+
+	@Test
+	void eventListingsAndModerationPagesStayWithinTheEvent() {
+		assertReadsEventRange(() -> applicationRepository.findByEvent(event), 1L);
+		assertReadsEventRange(() -> applicationRepository.findByEventAndStatus(event, ApplicationStatus.PENDING),
+				1L, "PENDING");
+		assertReadsEventRange(() -> applicationRepository.findBy(
+				hasEventId(1L).and(idAfter(5L, false)).and(fetchEventAndUser()),
+				query -> query.sortBy(Sort.by("id")).limit(100).all()), 1L, 5L, 100);
+		assertReadsEventRange(() -> applicationRepository.findBy(
+				hasEventId(1L).and(hasStatus(ApplicationStatus.PENDING)).and(fetchEventAndUser()),
+				query -> query.sortBy(Sort.by("id")).limit(100).all()), 1L, "PENDING", 100);
+	}
+
+	private void assertReadsEventRange(Runnable query, Object... parameters) {
+		CapturingInspector.statements.clear();
+		query.run();
+		String sql = CapturingInspector.statements.get(0);
+
+		String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parameters);
+
+		assertThat(plan).as(sql).containsPattern(EVENT_RANGE).doesNotContain("tableScan");
+	}
+
+	public static class CapturingInspector implements StatementInspector {
+
+		static final List<String> statements = new CopyOnWriteArrayList<>();
+
+		@Override
+		public String inspect(String sql) {
+			statements.add(sql);
+			return sql;
+		}
+	}
+}
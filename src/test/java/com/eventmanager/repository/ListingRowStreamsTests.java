@@ -0,0 +1,81 @@
+package com.eventmanager.repository;
+
+import com.eventmanager.TestFixtures;
+import com.eventmanager.dto.ApplicationDTO;
+import com.eventmanager.dto.EventDTO;
+import com.eventmanager.dto.RowStream;
+import com.eventmanager.entity.Application;
+import com.eventmanager.entity.Event;
+import com.eventmanager.entity.User;
+import com.eventmanager.util.JsonRowWriter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ListingRowStreamsTests {
+
+	@Autowired
+	private ListingRowStreams listingRowStreams;
+
+	@Autowired
+	private EventRepository eventRepository;
+
+	@Autowired
+	private ApplicationRepository applicationRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	@Test
+	void streamedRowsMatchDtoSerialization() throws Exception {
+		User user = fixtures.createUser();
+		Event event = eventRepository.save(Event.builder()
+				.title("Streamed")
+				.uploadDate(LocalDate.now())
+				.expiryDate(LocalDate.now().plusDays(5))
+				.organizer(user)
+				.build());
+		Application application = applicationRepository.save(Application.builder()
+				.event(event)
+				.user(user)
+				.status(Application.ApplicationStatus.PENDING)
+				.build());
+		Application stored = applicationRepository.findById(application.getId()).orElseThrow();
+
+		EventDTO.Response eventDto = new EventDTO.Response(event.getId(), "Streamed", null, event.getUploadDate(),
+				event.getExpiryDate(), user.getId(), user.getUsername(), null, null);
+		ApplicationDTO.Response applicationDto = new ApplicationDTO.Response(stored.getId(), event.getId(), "Streamed",
+				user.getId(), user.getUsername(), user.getEmail(), stored.getApplicationDate(), stored.getStatus(), null);
+
+		assertThat(row(listingRowStreams.allEvents(), event.getId()))
+				.isEqualTo(objectMapper.writeValueAsString(eventDto));
+		assertThat(row(listingRowStreams.applicationsOfUser(user.getId()), stored.getId()))
+				.isEqualTo(objectMapper.writeValueAsString(applicationDto));
+	}
+
+	private String row(RowStream rows, Long id) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+			rows.writeTo(new JsonRowWriter(generator, false));
+		}
+		for (JsonNode node : objectMapper.readTree(out.toByteArray())) {
+			if (node.get("id").asLong() == id) {
+				return objectMapper.writeValueAsString(node);
+			}
+		}
+		throw new AssertionError("Row " + id + " not streamed");
+	}
+
+}
@@ -0,0 +1,76 @@
+package com.eventmanager.service;
+
+import com.eventmanager.TestFixtures;
+import com.eventmanager.dto.ApplicationDTO;
+import com.eventmanager.entity.Event;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ApplicationFilterTests {
+
+	@Autowired
+	private ApplicationService applicationService;
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	@AfterEach
+	void clearAuthentication() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void pagesSortedByDateCoverEveryRowOnceInOrder() {
+		Event event = fixtures.createEvent(fixtures.admin(), null);
+		for (int i = 0; i < 5; i++) {
+			fixtures.applyAs(fixtures.createUser(), event);
+		}
+		fixtures.authenticate(fixtures.admin());
+		ApplicationDTO.FilterRequest filter = new ApplicationDTO.FilterRequest();
+		filter.setEventId(event.getId());
+		filter.setSortBy(ApplicationDTO.SortKey.APPLICATION_DATE);
+		filter.setSort(Sort.Direction.DESC);
+		filter.setSize(2);
+
+		List<ApplicationDTO.Response> seen = new ArrayList<>();
+		ApplicationDTO.PageResponse page;
+		do {
+			page = applicationService.getFilteredApplications(filter);
+			seen.addAll(page.getContent());
+			filter.setAfter(page.getNextCursor());
+		} while (page.getNextCursor() != null);
+
+		assertThat(seen).hasSize(5);
+		assertThat(seen).isSortedAccordingTo(Comparator.comparing(ApplicationDTO.Response::getApplicationDate)
+				.thenComparing(ApplicationDTO.Response::getId).reversed());
+	}
+
+	@Test
+	void allReturnsEveryRowWithoutACursor() {
+		Event event = fixtures.createEvent(fixtures.admin(), null);
+		for (int i = 0; i < 3; i++) {
+			fixtures.applyAs(fixtures.createUser(), event);
+		}
+		fixtures.authenticate(fixtures.admin());
+		ApplicationDTO.FilterRequest filter = new ApplicationDTO.FilterRequest();
+		filter.setEventId(event.getId());
+		filter.setSize(1);
+		filter.setAll(true);
+
+		ApplicationDTO.PageResponse page = applicationService.getFilteredApplications(filter);
+
+		assertThat(page.getContent()).hasSize(3);
+		assertThat(page.getNextCursor()).isNull();
+	}
+}
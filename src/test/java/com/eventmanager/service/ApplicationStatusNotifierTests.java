@@ -0,0 +1,109 @@
+package com.eventmanager.service;
+
+import com.eventmanager.dto.ApplicationDTO;
+import com.eventmanager.entity.Application.ApplicationStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class ApplicationStatusNotifierTests {
+
+	private final ApplicationStatusNotifier notifier = new ApplicationStatusNotifier();
+	private MockMvc mockMvc;
+
+	@RestController
+	class StreamController {
+
+		@GetMapping("/stream/{userId}")
+		SseEmitter stream(@PathVariable Long userId) {
+			return notifier.subscribe(userId);
+		}
+	}
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(notifier, "timeout", 60000L);
+		ReflectionTestUtils.setField(notifier, "maxConnectionsPerUser", 3);
+		ReflectionTestUtils.setField(notifier, "bufferSize", 16);
+		mockMvc = MockMvcBuilders.standaloneSetup(new StreamController()).build();
+	}
+
+	@AfterEach
+	void tearDown() {
+		notifier.shutdown();
+	}
+
+	@Test
+	void everySubscriberReceivesEachEventExactlyOnce() throws Exception {
+		MvcResult first = subscribe(1L);
+		MvcResult second = subscribe(1L);
+		ApplicationDTO.StatusResponse status = new ApplicationDTO.StatusResponse("Approved", ApplicationStatus.APPROVED);
+		String event = "id:7\nevent:application-status\ndata:"
+				+ Jackson2ObjectMapperBuilder.json().build().writeValueAsString(status) + "\n\n";
+
+		notifier.publish(1L, 7L, status);
+		awaitContent(first, event);
+		awaitContent(second, event);
+		notifier.publish(1L, 7L, status);
+
+		awaitContent(first, event + event);
+		awaitContent(second, event + event);
+	}
+
+	@Test
+	void heartbeatsStayTheSameSizeOnEveryConnection() throws Exception {
+		MvcResult first = subscribe(1L);
+		MvcResult second = subscribe(2L);
+		String ping = ":ping\n\n";
+
+		for (int i = 1; i <= 3; i++) {
+			notifier.heartbeat();
+			awaitContent(first, ping.repeat(i));
+			awaitContent(second, ping.repeat(i));
+		}
+	}
+
+	@Test
+	void newestConnectionGetsEventsWhenItReplacesTheOnlyOne() throws Exception {
+		ReflectionTestUtils.setField(notifier, "maxConnectionsPerUser", 1);
+		subscribe(1L);
+		MvcResult replacement = subscribe(1L);
+		ApplicationDTO.StatusResponse status = new ApplicationDTO.StatusResponse("Approved", ApplicationStatus.APPROVED);
+
+		notifier.publish(1L, 7L, status);
+
+		awaitContent(replacement, "id:7\nevent:application-status\ndata:"
+				+ Jackson2ObjectMapperBuilder.json().build().writeValueAsString(status) + "\n\n");
+		assertThat(notifier.getSubscriberCount()).isEqualTo(1);
+	}
+
+	private MvcResult subscribe(Long userId) throws Exception {
+		return mockMvc.perform(get("/stream/" + userId)).andExpect(request().asyncStarted()).andReturn();
+	}
+
+	// Events are written by the dispatcher threads, so wait until the expected bytes (or more) arrive
+	private void awaitContent(MvcResult result, String expected) throws Exception {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		String content = result.getResponse().getContentAsString();
+		while (content.length() < expected.length() && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+			content = result.getResponse().getContentAsString();
+		}
+		assertThat(content).isEqualTo(expected);
+	}
+}
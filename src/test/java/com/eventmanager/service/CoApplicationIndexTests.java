@@ -0,0 +1,115 @@
+package com.eventmanager.service;
+
+import com.eventmanager.TestFixtures;
+import com.eventmanager.entity.Event;
+import com.eventmanager.entity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@SpringBootTest
+class CoApplicationIndexTests {
+
+	@Autowired
+	private CoApplicationIndex index;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	@AfterEach
+	void clearAuthentication() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void rebuildCountsApplicantsAndUsersWhoAppliedToBoth() {
+		Event a = createEvent();
+		Event b = createEvent();
+		Event c = createEvent();
+		applyToAll(fixtures.createUser(), a, b);
+		applyToAll(fixtures.createUser(), a, b);
+		applyToAll(fixtures.createUser(), a, c);
+
+		index.rebuild();
+
+		assertThat(index.applicants(a.getId())).isEqualTo(3);
+		assertThat(index.applicants(b.getId())).isEqualTo(2);
+		assertThat(index.applicants(c.getId())).isEqualTo(1);
+		assertThat(index.score(b.getId(), List.of(a.getId()))).isCloseTo(2 / Math.sqrt(2 * 3), within(1e-9));
+		assertThat(index.score(c.getId(), List.of(a.getId()))).isCloseTo(1 / Math.sqrt(1 * 3), within(1e-9));
+		assertThat(index.score(c.getId(), List.of(b.getId()))).isZero();
+	}
+
+	@Test
+	void newApplicationsUpdateTheIndexWithoutARebuild() {
+		Event a = createEvent();
+		Event b = createEvent();
+		User user = fixtures.createUser();
+		fixtures.applyAs(user, a);
+		index.rebuild();
+		assertThat(index.score(b.getId(), List.of(a.getId()))).isZero();
+
+		fixtures.applyAs(user, b);
+
+		assertThat(index.applicants(b.getId())).isEqualTo(1);
+		assertThat(index.score(b.getId(), List.of(a.getId()))).isCloseTo(1.0, within(1e-9));
+		// The incremental update agrees with a full rebuild
+		index.rebuild();
+		assertThat(index.score(b.getId(), List.of(a.getId()))).isCloseTo(1.0, within(1e-9));
+	}
+
+	@Test
+	void applicationsRecordedDuringARebuildSurviveTheSwap() {
+		Event a = createEvent();
+		Event b = createEvent();
+		fixtures.applyAs(fixtures.createUser(), a);
+		AtomicReference<Runnable> onFirstRow = new AtomicReference<>();
+		CoApplicationIndex rebuilding = new CoApplicationIndex(new JdbcTemplate(jdbcTemplate.getDataSource()) {
+			@Override
+			public void query(PreparedStatementCreator creator, RowCallbackHandler handler) {
+				super.query(creator, (RowCallbackHandler) rs -> {
+					Runnable hook = onFirstRow.getAndSet(null);
+					if (hook != null) {
+						hook.run();
+					}
+					handler.processRow(rs);
+				});
+			}
+		});
+		ReflectionTestUtils.setField(rebuilding, "maxEventsPerUser", 200);
+		ReflectionTestUtils.setField(rebuilding, "fetchSize", 100);
+		// Stands in for an application committed once the scan is past the point where its row would be
+		onFirstRow.set(() -> rebuilding.recordApplication(b.getId(), List.of(a.getId())));
+
+		rebuilding.rebuild();
+
+		assertThat(rebuilding.applicants(a.getId())).isEqualTo(1);
+		assertThat(rebuilding.applicants(b.getId())).isEqualTo(1);
+		assertThat(rebuilding.score(b.getId(), List.of(a.getId()))).isCloseTo(1.0, within(1e-9));
+	}
+
+	private Event createEvent() {
+		return fixtures.createEvent(fixtures.admin(), null);
+	}
+
+	private void applyToAll(User user, Event... events) {
+		for (Event event : events) {
+			fixtures.applyAs(user, event);
+		}
+	}
+}
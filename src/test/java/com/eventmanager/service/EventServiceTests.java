@@ -0,0 +1,175 @@
+package com.eventmanager.service;
+
+import com.eventmanager.TestFixtures;
+import com.eventmanager.cache.TwoTierCacheManager;
+import com.eventmanager.config.CacheConfig;
+import com.eventmanager.dto.EventDTO;
+import com.eventmanager.entity.Application.ApplicationStatus;
+import com.eventmanager.util.SingleFlight;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class EventServiceTests {
+
+	@Autowired
+	private EventService eventService;
+
+	@Autowired
+	private ApplicationService applicationService;
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	@Autowired
+	private TwoTierCacheManager twoTierCacheManager;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@AfterEach
+	void clearAuthentication() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void activeEventsCarryCallersStatusWithoutTouchingCachedListing() {
+		fixtures.authenticate(fixtures.admin());
+		EventDTO.Response applied = eventService.createEvent(
+				new EventDTO.CreateRequest("Applied", null, LocalDate.now().plusDays(3), null));
+		EventDTO.Response other = eventService.createEvent(
+				new EventDTO.CreateRequest("Other", null, LocalDate.now().plusDays(3), null));
+
+		fixtures.authenticate(fixtures.createUser());
+		applicationService.applyForEvent(applied.getId());
+		List<EventDTO.Response> enriched = eventService.withMyApplicationStatus(eventService.getActiveEvents());
+
+		assertThat(statusOf(enriched, applied.getId())).isEqualTo(ApplicationStatus.PENDING);
+		assertThat(statusOf(enriched, other.getId())).isNull();
+		assertThat(eventService.getActiveEvents()).allMatch(event -> event.getMyApplicationStatus() == null);
+	}
+
+	@Test
+	void rangeQueryFindsOverlappingActiveEvents() {
+		fixtures.authenticate(fixtures.admin());
+		EventDTO.Response event = eventService.createEvent(
+				new EventDTO.CreateRequest("Ranged", null, LocalDate.now().plusDays(10), null));
+
+		assertThat(eventService.getEventsInRange(LocalDate.now().plusDays(10), LocalDate.now().plusDays(20), false))
+				.extracting(EventDTO.Response::getId).contains(event.getId());
+		assertThat(eventService.getEventsInRange(LocalDate.now().plusDays(11), LocalDate.now().plusDays(20), false))
+				.extracting(EventDTO.Response::getId).doesNotContain(event.getId());
+		assertThat(eventService.getEventsInRange(LocalDate.now(), LocalDate.now().plusDays(10), true))
+				.extracting(EventDTO.Response::getId).contains(event.getId());
+	}
+
+	@Test
+	void batchReturnsEventsInRequestOrderSkippingUnknownIds() {
+		fixtures.authenticate(fixtures.admin());
+		EventDTO.Response first = eventService.createEvent(
+				new EventDTO.CreateRequest("First", null, LocalDate.now().plusDays(3), null));
+		EventDTO.Response second = eventService.createEvent(
+				new EventDTO.CreateRequest("Second", null, LocalDate.now().plusDays(3), null));
+
+		List<EventDTO.Response> events = eventService.getEventsByIds(
+				List.of(second.getId(), -1L, first.getId(), second.getId()));
+
+		assertThat(events).extracting(EventDTO.Response::getId).containsExactly(second.getId(), first.getId());
+		assertThat(events).extracting(EventDTO.Response::getOrganizerName).containsOnly("admin");
+	}
+
+	@Test
+	void deletingAnEventEvictsActiveEventsOnlyAfterCommit() {
+		fixtures.authenticate(fixtures.admin());
+		EventDTO.Response event = eventService.createEvent(
+				new EventDTO.CreateRequest("Deleted", null, LocalDate.now().plusDays(3), null));
+		eventService.getActiveEvents();
+		Cache activeEvents = twoTierCacheManager.getCache(CacheConfig.ACTIVE_EVENTS);
+
+		transactionTemplate.executeWithoutResult(status -> {
+			eventService.deleteEvent(event.getId());
+			// Evicting here would let a concurrent read re-cache the not yet deleted event
+			assertThat(activeEvents.get(LocalDate.now())).isNotNull();
+		});
+
+		assertThat(activeEvents.get(LocalDate.now())).isNull();
+		assertThat(eventService.getActiveEvents()).extracting(EventDTO.Response::getId).doesNotContain(event.getId());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void readersWaitingOnASharedLoadHoldNoConnection() throws Exception {
+		Long eventId = fixtures.createEvent(fixtures.admin(), null).getId();
+		SingleFlight<Long, EventDTO.Response> eventLoads = (SingleFlight<Long, EventDTO.Response>)
+				ReflectionTestUtils.getField((Object) AopTestUtils.getTargetObject(eventService), "eventLoads");
+		int waiters = 5;
+		ExecutorService readers = Executors.newFixedThreadPool(waiters + 1);
+		CountDownLatch leaderLoading = new CountDownLatch(1);
+		CountDownLatch releaseLeader = new CountDownLatch(1);
+		try {
+			// A load already in flight for the event, which the readers below join
+			Future<EventDTO.Response> leader = readers.submit(() -> eventLoads.load(eventId, () -> {
+				leaderLoading.countDown();
+				try {
+					releaseLeader.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return eventService.getEventsByIds(List.of(eventId)).get(0);
+			}));
+			assertThat(leaderLoading.await(5, TimeUnit.SECONDS)).isTrue();
+			List<Future<EventDTO.Response>> joined = new ArrayList<>();
+			for (int i = 0; i < waiters; i++) {
+				joined.add(readers.submit(() -> eventService.getEventById(eventId)));
+			}
+			Thread.sleep(200);
+
+			assertThat(activeConnections()).isLessThan(waiters);
+			releaseLeader.countDown();
+			assertThat(leader.get(5, TimeUnit.SECONDS).getId()).isEqualTo(eventId);
+			for (Future<EventDTO.Response> reader : joined) {
+				assertThat(reader.get(5, TimeUnit.SECONDS).getId()).isEqualTo(eventId);
+			}
+		} finally {
+			releaseLeader.countDown();
+			readers.shutdownNow();
+		}
+	}
+
+	private double activeConnections() {
+		return meterRegistry.find("hikaricp.connections.active").gauges().stream()
+				.mapToDouble(Gauge::value)
+				.sum();
+	}
+
+	private ApplicationStatus statusOf(List<EventDTO.Response> events, Long eventId) {
+		return events.stream()
+				.filter(event -> event.getId().equals(eventId))
+				.findFirst().orElseThrow()
+				.getMyApplicationStatus();
+	}
+
+}
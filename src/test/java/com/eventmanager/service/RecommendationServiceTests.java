@@ -0,0 +1,74 @@
+package com.eventmanager.service;
+
+import com.eventmanager.TestFixtures;
+import com.eventmanager.config.CacheConfig;
+import com.eventmanager.dto.EventDTO;
+import com.eventmanager.entity.Event;
+import com.eventmanager.entity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class RecommendationServiceTests {
+
+	@Autowired
+	private RecommendationService recommendationService;
+
+	@Autowired
+	private CoApplicationIndex coApplicationIndex;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	@AfterEach
+	void clearAuthentication() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void eventsAppliedToTogetherRankFirstAndAppliedOnesAreLeftOut() {
+		Event applied = createEvent();
+		Event oftenTogether = createEvent();
+		Event onceTogether = createEvent();
+		Event popular = createEvent();
+		for (int i = 0; i < 2; i++) {
+			User other = fixtures.createUser();
+			fixtures.applyAs(other, applied);
+			fixtures.applyAs(other, oftenTogether);
+		}
+		User other = fixtures.createUser();
+		fixtures.applyAs(other, applied);
+		fixtures.applyAs(other, onceTogether);
+		for (int i = 0; i < 3; i++) {
+			fixtures.applyAs(fixtures.createUser(), popular);
+		}
+		User me = fixtures.createUser();
+		fixtures.applyAs(me, applied);
+		coApplicationIndex.rebuild();
+		// The fixtures write events straight to the repository, past the listing cache
+		cacheManager.getCache(CacheConfig.ACTIVE_EVENTS).clear();
+
+		fixtures.authenticate(me);
+		List<Long> recommended = recommendationService.getRecommendedEvents(100).stream()
+				.map(EventDTO.Response::getId)
+				.toList();
+
+		assertThat(recommended).startsWith(oftenTogether.getId(), onceTogether.getId());
+		assertThat(recommended).doesNotContain(applied.getId());
+	}
+
+	private Event createEvent() {
+		return fixtures.createEvent(fixtures.admin(), null);
+	}
+}
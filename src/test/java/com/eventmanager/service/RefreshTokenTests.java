@@ -0,0 +1,126 @@
+package com.eventmanager.service;
+
+import com.eventmanager.TestFixtures;
+import com.eventmanager.dto.AuthDTO;
+import com.eventmanager.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Date;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class RefreshTokenTests {
+
+	@Autowired
+	private AuthService authService;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private TokenRevocationList revocationList;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	@Test
+	void refreshRotatesAndStoresOnlyHashes() {
+		AuthDTO.AuthResponse login = registerAndLogin();
+
+		AuthDTO.AuthResponse refreshed = authService.refresh(login.getRefreshToken());
+
+		assertThat(refreshed.getRefreshToken()).isNotEqualTo(login.getRefreshToken());
+		assertThat(refreshed.getToken()).isNotEqualTo(login.getToken());
+		assertThat(refreshed.getExpiresIn()).isEqualTo(jwtUtil.getExpiration() / 1000);
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM refresh_tokens WHERE token_hash IN (?, ?)",
+				Integer.class, RefreshTokenService.hash(login.getRefreshToken()),
+				RefreshTokenService.hash(refreshed.getRefreshToken()))).isEqualTo(2);
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM refresh_tokens WHERE token_hash = ?",
+				Integer.class, login.getRefreshToken())).isZero();
+	}
+
+	@Test
+	void reusingARotatedTokenRevokesTheFamilyAndAccessTokens() {
+		AuthDTO.AuthResponse login = registerAndLogin();
+		AuthDTO.AuthResponse refreshed = authService.refresh(login.getRefreshToken());
+
+		assertThatThrownBy(() -> authService.refresh(login.getRefreshToken()))
+				.hasMessageContaining("already used");
+
+		assertThatThrownBy(() -> authService.refresh(refreshed.getRefreshToken()))
+				.hasMessage("Invalid refresh token");
+		assertThat(isRevoked(refreshed.getToken())).isTrue();
+	}
+
+	@Test
+	void logoutRevokesAccessTokenAndSession() {
+		AuthDTO.AuthResponse login = registerAndLogin();
+		assertThat(isRevoked(login.getToken())).isFalse();
+
+		authService.logout(login.getRefreshToken(), login.getToken());
+
+		assertThat(isRevoked(login.getToken())).isTrue();
+		assertThatThrownBy(() -> authService.refresh(login.getRefreshToken()))
+				.hasMessage("Invalid refresh token");
+	}
+
+	@Test
+	void deletingAUserRevokesTheirTokens() {
+		AuthDTO.AuthResponse login = registerAndLogin();
+		fixtures.authenticate(fixtures.admin());
+		try {
+			userService.deleteUser(login.getId());
+		} finally {
+			SecurityContextHolder.clearContext();
+		}
+
+		assertThat(isRevoked(login.getToken())).isTrue();
+		assertThatThrownBy(() -> authService.refresh(login.getRefreshToken()))
+				.hasMessage("Invalid refresh token");
+	}
+
+	@Test
+	void revocationsArePrunedOnceTheTokenWouldHaveExpired() {
+		int before = revocationList.size();
+		revocationList.revokeToken("expired", new Date(System.currentTimeMillis() - 1));
+		revocationList.revokeToken("live", new Date(System.currentTimeMillis() + 3_600_000));
+
+		revocationList.prune();
+
+		assertThat(revocationList.size()).isEqualTo(before + 1);
+	}
+
+	private boolean isRevoked(String accessToken) {
+		Claims claims = jwtUtil.extractAllClaims(accessToken);
+		return revocationList.isRevoked(claims.getId(), claims.getSubject(),
+				claims.getIssuedAt(), claims.getExpiration());
+	}
+
+	private AuthDTO.AuthResponse registerAndLogin() {
+		String name = "user-" + UUID.randomUUID().toString().substring(0, 8);
+		AuthDTO.RegisterRequest registration = new AuthDTO.RegisterRequest();
+		registration.setUsername(name);
+		registration.setEmail(name + "@example.com");
+		registration.setPassword("secret123");
+		authService.register(registration);
+
+		AuthDTO.LoginRequest login = new AuthDTO.LoginRequest();
+		login.setUsername(name);
+		login.setPassword("secret123");
+		return authService.login(login);
+	}
+}
@@ -0,0 +1,153 @@
+package com.eventmanager.service;
+
+import com.eventmanager.TestFixtures;
+import com.eventmanager.dto.ApplicationDTO;
+import com.eventmanager.dto.AuthDTO;
+import com.eventmanager.entity.Application.ApplicationStatus;
+import com.eventmanager.entity.Event;
+import com.eventmanager.entity.User;
+import com.eventmanager.repository.ApplicationRepository;
+import com.eventmanager.repository.EventRepository;
+import com.eventmanager.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class SoftDeleteTests {
+
+	@Autowired
+	private EventService eventService;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private AuthService authService;
+
+	@Autowired
+	private ApplicationService applicationService;
+
+	@Autowired
+	private DeletionPurgeJob purgeJob;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private EventRepository eventRepository;
+
+	@Autowired
+	private ApplicationRepository applicationRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	@AfterEach
+	void clearAuthentication() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void deletedEventIsHiddenAndPurgedWithItsApplications() {
+		User organizer = fixtures.createUser();
+		Event event = fixtures.createEvent(organizer, null);
+		ApplicationDTO.Response application = fixtures.applyAs(fixtures.createUser(), event);
+
+		fixtures.authenticate(organizer);
+		eventService.deleteEvent(event.getId());
+
+		assertThat(eventRepository.findById(event.getId())).isEmpty();
+		assertThat(applicationRepository.findById(application.getId())).isEmpty();
+		assertThat(eventService.getActiveEvents()).noneMatch(active -> active.getId().equals(event.getId()));
+
+		purgeJob.purge();
+
+		assertThat(rows("events", event.getId())).isZero();
+		assertThat(rows("event_applications", application.getId())).isZero();
+		assertThat(rows("users", organizer.getId())).isEqualTo(1);
+	}
+
+	@Test
+	void deletedOrganizerTakesTheirEventsAlong() {
+		User organizer = fixtures.createUser();
+		Event event = fixtures.createEvent(organizer, null);
+		ApplicationDTO.Response application = fixtures.applyAs(fixtures.createUser(), event);
+
+		userService.deleteUser(organizer.getId());
+
+		assertThat(userRepository.findByUsername(organizer.getUsername())).isEmpty();
+		assertThat(eventRepository.findById(event.getId())).isEmpty();
+
+		purgeJob.purge();
+
+		assertThat(rows("event_applications", application.getId())).isZero();
+		assertThat(rows("events", event.getId())).isZero();
+		assertThat(rows("users", organizer.getId())).isZero();
+	}
+
+	@Test
+	void deletedApplicantLeavesTheWaitlist() {
+		Event event = fixtures.createEvent(fixtures.admin(), 0);
+		User ahead = fixtures.createUser();
+		fixtures.applyAs(ahead, event);
+		User behind = fixtures.createUser();
+		ApplicationDTO.Response waiting = fixtures.applyAs(behind, event);
+
+		userService.deleteUser(ahead.getId());
+
+		fixtures.authenticate(behind);
+		assertThat(applicationService.getWaitlistPosition(waiting.getId()).getAhead()).isZero();
+	}
+
+	@Test
+	void deletedApplicantsSeatGoesToTheWaitlist() {
+		Event event = fixtures.createEvent(fixtures.admin(), 1);
+		User attendee = fixtures.createUser();
+		ApplicationDTO.Response seat = fixtures.applyAs(attendee, event);
+		fixtures.authenticate(fixtures.admin());
+		applicationService.approveApplication(seat.getId());
+		ApplicationDTO.Response waiting = fixtures.applyAs(fixtures.createUser(), event);
+
+		userService.deleteUser(attendee.getId());
+
+		assertThat(applicationRepository.findById(waiting.getId()).orElseThrow().getStatus())
+				.isEqualTo(ApplicationStatus.APPROVED);
+	}
+
+	@Test
+	void deletedUsernameStaysReservedUntilPurged() {
+		User user = fixtures.createUser();
+		userService.deleteUser(user.getId());
+
+		assertThatThrownBy(() -> authService.register(registration(user.getUsername(), "other-" + user.getEmail())))
+				.hasMessage("Username already exists");
+
+		purgeJob.purge();
+
+		assertThat(authService.register(registration(user.getUsername(), user.getEmail())).getUsername())
+				.isEqualTo(user.getUsername());
+	}
+
+	private AuthDTO.RegisterRequest registration(String username, String email) {
+		AuthDTO.RegisterRequest request = new AuthDTO.RegisterRequest();
+		request.setUsername(username);
+		request.setEmail(email);
+		request.setPassword("password123");
+		return request;
+	}
+
+	private int rows(String table, Long id) {
+		return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE id = ?", Integer.class, id);
+	}
+
+}
@@ -0,0 +1,177 @@
+package com.eventmanager.service;
+
+import com.eventmanager.TestFixtures;
+import com.eventmanager.dto.ApplicationDTO;
+import com.eventmanager.entity.Application;
+import com.eventmanager.entity.Application.ApplicationStatus;
+import com.eventmanager.entity.Event;
+import com.eventmanager.entity.User;
+import com.eventmanager.repository.ApplicationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class WaitlistTests {
+
+	@Autowired
+	private ApplicationService applicationService;
+
+	@Autowired
+	private ApplicationRepository applicationRepository;
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	@AfterEach
+	void clearAuthentication() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void fullEventWaitlistsAndPromotesInOrder() {
+		Event event = createEvent(1);
+		User first = fixtures.createUser();
+		User second = fixtures.createUser();
+		User third = fixtures.createUser();
+
+		ApplicationDTO.Response firstApplication = fixtures.applyAs(first, event);
+		approveAsAdmin(firstApplication.getId());
+		ApplicationDTO.Response secondApplication = fixtures.applyAs(second, event);
+		ApplicationDTO.Response thirdApplication = fixtures.applyAs(third, event);
+
+		assertThat(secondApplication.getStatus()).isEqualTo(ApplicationStatus.WAITLISTED);
+		assertThat(thirdApplication.getStatus()).isEqualTo(ApplicationStatus.WAITLISTED);
+		assertThat(thirdApplication.getWaitlistPosition()).isGreaterThan(secondApplication.getWaitlistPosition());
+		fixtures.authenticate(third);
+		assertThat(applicationService.getWaitlistPosition(thirdApplication.getId()).getAhead()).isEqualTo(1);
+
+		fixtures.authenticate(first);
+		applicationService.withdrawApplication(firstApplication.getId());
+
+		assertThat(statusOf(secondApplication)).isEqualTo(ApplicationStatus.APPROVED);
+		assertThat(statusOf(thirdApplication)).isEqualTo(ApplicationStatus.WAITLISTED);
+		fixtures.authenticate(third);
+		assertThat(applicationService.getWaitlistPosition(thirdApplication.getId()).getAhead()).isZero();
+	}
+
+	@Test
+	void approvingBeyondCapacityIsRejected() {
+		Event event = createEvent(1);
+		ApplicationDTO.Response first = fixtures.applyAs(fixtures.createUser(), event);
+		ApplicationDTO.Response second = fixtures.applyAs(fixtures.createUser(), event);
+
+		approveAsAdmin(first.getId());
+
+		assertThat(second.getStatus()).isEqualTo(ApplicationStatus.PENDING);
+		assertThatThrownBy(() -> approveAsAdmin(second.getId())).hasMessage("Event is full");
+	}
+
+	@Test
+	void concurrentApprovalsNeverExceedCapacity() throws Exception {
+		Event event = createEvent(1);
+		List<ApplicationDTO.Response> pending = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			pending.add(fixtures.applyAs(fixtures.createUser(), event));
+		}
+		User admin = fixtures.admin();
+		ExecutorService admins = Executors.newFixedThreadPool(pending.size());
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Boolean>> approvals = new ArrayList<>();
+		for (ApplicationDTO.Response application : pending) {
+			approvals.add(admins.submit(() -> {
+				fixtures.authenticate(admin);
+				start.await();
+				try {
+					applicationService.approveApplication(application.getId());
+					return true;
+				} catch (RuntimeException e) {
+					return false;
+				} finally {
+					SecurityContextHolder.clearContext();
+				}
+			}));
+		}
+		start.countDown();
+		int approved = 0;
+		for (Future<Boolean> approval : approvals) {
+			approved += approval.get(10, TimeUnit.SECONDS) ? 1 : 0;
+		}
+		admins.shutdown();
+
+		assertThat(approved).isEqualTo(1);
+		assertThat(pending.stream().filter(application -> statusOf(application) == ApplicationStatus.APPROVED))
+				.hasSize(1);
+	}
+
+	@Test
+	void waitlistPositionsContinueAfterOnesTakenOnAnotherNode() {
+		Event event = createEvent(1);
+		approveAsAdmin(fixtures.applyAs(fixtures.createUser(), event).getId());
+		ApplicationDTO.Response local = fixtures.applyAs(fixtures.createUser(), event);
+		// Written by another node
+		applicationRepository.save(Application.builder()
+				.event(event)
+				.user(fixtures.createUser())
+				.status(ApplicationStatus.WAITLISTED)
+				.waitlistPosition(local.getWaitlistPosition() + 5)
+				.build());
+
+		ApplicationDTO.Response next = fixtures.applyAs(fixtures.createUser(), event);
+
+		assertThat(next.getWaitlistPosition()).isEqualTo(local.getWaitlistPosition() + 6);
+	}
+
+	@Test
+	void applicantsWaitlistedOnAnotherNodeArePromotedInTurn() {
+		Event event = createEvent(1);
+		User first = fixtures.createUser();
+		ApplicationDTO.Response firstApplication = fixtures.applyAs(first, event);
+		approveAsAdmin(firstApplication.getId());
+		User second = fixtures.createUser();
+		ApplicationDTO.Response secondApplication = fixtures.applyAs(second, event);
+		// Waitlisted behind the second applicant by another node
+		Application remote = applicationRepository.save(Application.builder()
+				.event(event)
+				.user(fixtures.createUser())
+				.status(ApplicationStatus.WAITLISTED)
+				.waitlistPosition(secondApplication.getWaitlistPosition() + 1)
+				.build());
+
+		fixtures.authenticate(first);
+		applicationService.withdrawApplication(firstApplication.getId());
+		assertThat(statusOf(secondApplication)).isEqualTo(ApplicationStatus.APPROVED);
+		fixtures.authenticate(second);
+		applicationService.withdrawApplication(secondApplication.getId());
+
+		assertThat(applicationRepository.findById(remote.getId()).orElseThrow().getStatus())
+				.isEqualTo(ApplicationStatus.APPROVED);
+	}
+
+	private void approveAsAdmin(Long applicationId) {
+		fixtures.authenticate(fixtures.admin());
+		applicationService.approveApplication(applicationId);
+	}
+
+	private ApplicationStatus statusOf(ApplicationDTO.Response application) {
+		return applicationRepository.findById(application.getId()).orElseThrow().getStatus();
+	}
+
+	private Event createEvent(int capacity) {
+		return fixtures.createEvent(fixtures.admin(), capacity);
+	}
+
+}
@@ -0,0 +1,76 @@
+package com.eventmanager.slowquery;
+
+import com.eventmanager.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Every statement counts as slow and is explained; own database so schema creation leaves the shared one alone
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:slow_query;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+		"slow-query.threshold=0",
+		"slow-query.explain-sample-rate=1",
+		"slow-query.explain-interval=0"})
+class SlowQueryTests {
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private SlowQueryEndpoint endpoint;
+
+	@BeforeEach
+	void reset() {
+		endpoint.reset();
+	}
+
+	@Test
+	void statementsAreAttributedToTheRepositoryMethodWithRowCounts() {
+		userRepository.findByUsername("admin").orElseThrow();
+		userRepository.findByUsername("nobody");
+
+		StatementStats.Snapshot lookup = find("UserRepository.findByUsername").orElseThrow();
+		assertThat(lookup.sql()).startsWith("select");
+		assertThat(lookup.calls()).isEqualTo(2);
+		assertThat(lookup.rows()).isEqualTo(1);
+		assertThat(lookup.slowCalls()).isEqualTo(2);
+	}
+
+	@Test
+	void updatesOutsideRepositoriesCountAffectedRows() {
+		jdbcTemplate.update("update users set email = email where username = ?", "admin");
+
+		StatementStats.Snapshot update = find(StatementStatsListener.OUTSIDE_REPOSITORIES).orElseThrow();
+		assertThat(update.sql()).startsWith("update users");
+		assertThat(update.rows()).isEqualTo(1);
+	}
+
+	@Test
+	void slowStatementsGetTheirPlanCapturedInTheBackground() throws InterruptedException {
+		userRepository.findByUsername("admin");
+
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (find("UserRepository.findByUsername").map(StatementStats.Snapshot::plan).isEmpty()
+				&& System.nanoTime() < deadline) {
+			Thread.sleep(20);
+		}
+		assertThat(find("UserRepository.findByUsername").orElseThrow().plan())
+				.containsIgnoringCase("users");
+	}
+
+	private Optional<StatementStats.Snapshot> find(String operation) {
+		return endpoint.top(100, "calls").stream()
+				.filter(statement -> statement.operation().equals(operation))
+				.findFirst();
+	}
+}
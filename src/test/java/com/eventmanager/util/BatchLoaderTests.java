@@ -0,0 +1,36 @@
+package com.eventmanager.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchLoaderTests {
+
+	@Test
+	void loadsDistinctKeysInChunksAndKeepsRequestOrder() {
+		List<Collection<Integer>> batches = new ArrayList<>();
+		BatchLoader<Integer, String> loader = new BatchLoader<>(keys -> {
+			batches.add(keys);
+			// Answer out of order and without the missing key, as an IN query would
+			return keys.stream().filter(key -> key != 4).sorted().map(String::valueOf).toList();
+		}, Integer::valueOf, 2);
+
+		List<String> values = loader.loadMany(List.of(5, 3, 5, 4, 1, 3));
+
+		assertThat(values).containsExactly("5", "3", "1");
+		assertThat(batches).containsExactly(List.of(5, 3), List.of(4, 1));
+	}
+
+	@Test
+	void emptyRequestRunsNoQuery() {
+		BatchLoader<Integer, String> loader = new BatchLoader<>(keys -> {
+			throw new AssertionError("unexpected load");
+		}, Integer::valueOf, 10);
+
+		assertThat(loader.loadMany(List.of())).isEmpty();
+	}
+}
@@ -0,0 +1,50 @@
+package com.eventmanager.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CountingBloomFilterTests {
+
+	@Test
+	void neverMissesAddedValuesAndStaysNearTargetRate() {
+		CountingBloomFilter filter = new CountingBloomFilter(10_000, 0.01);
+		for (int i = 0; i < 10_000; i++) {
+			filter.add("user" + i);
+		}
+
+		for (int i = 0; i < 10_000; i++) {
+			assertThat(filter.mightContain("user" + i)).isTrue();
+		}
+		int falsePositives = 0;
+		for (int i = 0; i < 100_000; i++) {
+			if (filter.mightContain("other" + i)) {
+				falsePositives++;
+			}
+		}
+		assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+	}
+
+	@Test
+	void removedValuesAreForgottenWithoutDisturbingOthers() {
+		CountingBloomFilter filter = new CountingBloomFilter(1_000, 0.01);
+		for (int i = 0; i < 1_000; i++) {
+			filter.add("user" + i);
+		}
+		for (int i = 0; i < 1_000; i += 2) {
+			filter.remove("user" + i);
+		}
+
+		for (int i = 1; i < 1_000; i += 2) {
+			assertThat(filter.mightContain("user" + i)).isTrue();
+		}
+		int stillReported = 0;
+		for (int i = 0; i < 1_000; i += 2) {
+			if (filter.mightContain("user" + i)) {
+				stillReported++;
+			}
+		}
+		assertThat(stillReported).isLessThan(25);
+		assertThat(filter.size()).isEqualTo(500);
+	}
+}
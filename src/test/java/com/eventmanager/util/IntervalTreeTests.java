@@ -0,0 +1,69 @@
+package com.eventmanager.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IntervalTreeTests {
+
+	private record Interval(long id, long start, long end) {
+	}
+
+	@Test
+	void overlapQueriesMatchLinearScanUnderChurn() {
+		IntervalTree<Interval> tree = new IntervalTree<>();
+		Map<Long, Interval> expected = new HashMap<>();
+		Random random = new Random(7);
+
+		for (int step = 0; step < 20_000; step++) {
+			long id = 1 + random.nextInt(2_000);
+			if (random.nextInt(4) == 0) {
+				assertThat(tree.remove(id)).isEqualTo(expected.remove(id) != null);
+			} else {
+				long start = random.nextInt(1_000);
+				Interval interval = new Interval(id, start, start + random.nextInt(60));
+				tree.put(id, interval.start(), interval.end(), interval);
+				expected.put(id, interval);
+			}
+
+			if (step % 100 == 0) {
+				long from = random.nextInt(1_100);
+				long to = from + random.nextInt(30);
+				List<Interval> scan = new ArrayList<>();
+				for (Interval interval : expected.values()) {
+					if (interval.start() <= to && interval.end() >= from) {
+						scan.add(interval);
+					}
+				}
+				scan.sort(Comparator.comparingLong(Interval::start).thenComparingLong(Interval::id));
+				assertThat(tree.overlapping(from, to)).containsExactlyElementsOf(scan);
+			}
+		}
+		assertThat(tree.size()).isEqualTo(expected.size());
+	}
+
+	@Test
+	void touchingEndpointsOverlap() {
+		IntervalTree<String> tree = new IntervalTree<>();
+		tree.put(1, 10, 20, "a");
+		tree.put(2, 21, 30, "b");
+
+		assertThat(tree.overlapping(20, 20)).containsExactly("a");
+		assertThat(tree.overlapping(20, 21)).containsExactly("a", "b");
+		assertThat(tree.overlapping(31, 40)).isEmpty();
+	}
+
+	@Test
+	void rejectsInvertedInterval() {
+		assertThatThrownBy(() -> new IntervalTree<String>().put(1, 5, 4, "x"))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+}
@@ -0,0 +1,70 @@
+package com.eventmanager.util;
+
+import com.eventmanager.config.WebConfig;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonRowWriterTests {
+
+	private static final SerializedString DATE = new SerializedString("date");
+	private static final SerializedString DATE_TIME = new SerializedString("dateTime");
+
+	// Spring Boot's default: ISO strings for JSON
+	private final ObjectMapper json = Jackson2ObjectMapperBuilder.json()
+			.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+			.build();
+	private final ObjectMapper cbor = new WebConfig().cborHttpMessageConverter(Jackson2ObjectMapperBuilder.json())
+			.getObjectMapper();
+
+	@ParameterizedTest
+	@ValueSource(ints = { 0, 1_000, 120_000_000, 123_456_789, 999_999_999 })
+	void datesMatchJacksonJson(int nanos) throws Exception {
+		LocalDateTime dateTime = LocalDateTime.of(2024, 3, 9, 7, 5, nanos == 0 ? 0 : 42, nanos);
+
+		assertThat(new String(write(json, dateTime), "UTF-8")).isEqualTo(json.writeValueAsString(expected(dateTime)));
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = { 0, 1_000, 123_456_789 })
+	void datesMatchJacksonBinaryArrays(int nanos) throws Exception {
+		LocalDateTime dateTime = LocalDateTime.of(2024, 3, 9, 7, 5, 0, nanos);
+
+		assertThat(cbor.readTree(write(cbor, dateTime)))
+				.isEqualTo(cbor.readTree(cbor.writeValueAsBytes(expected(dateTime))));
+	}
+
+	private byte[] write(ObjectMapper mapper, LocalDateTime dateTime) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (JsonGenerator generator = mapper.getFactory().createGenerator(out)) {
+			JsonRowWriter writer = new JsonRowWriter(generator, mapper != json);
+			writer.startRows();
+			writer.startRow();
+			writer.writeDate(DATE, dateTime.toLocalDate());
+			writer.writeDateTime(DATE_TIME, dateTime);
+			writer.endRow();
+			writer.endRows();
+		}
+		return out.toByteArray();
+	}
+
+	private List<Map<String, Object>> expected(LocalDateTime dateTime) {
+		Map<String, Object> row = new LinkedHashMap<>();
+		row.put("date", LocalDate.from(dateTime));
+		row.put("dateTime", dateTime);
+		return List.of(row);
+	}
+}
@@ -0,0 +1,52 @@
+package com.eventmanager.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LongIntHashMapTests {
+
+	@Test
+	void countsMatchBoxedMapAcrossResizes() {
+		LongIntHashMap counts = new LongIntHashMap();
+		Map<Long, Integer> expected = new HashMap<>();
+		Random random = new Random(42);
+		for (int i = 0; i < 50_000; i++) {
+			long key = 1 + random.nextInt(5_000);
+			counts.addTo(key, 1);
+			expected.merge(key, 1, Integer::sum);
+		}
+
+		assertThat(counts.size()).isEqualTo(expected.size());
+		expected.forEach((key, value) -> assertThat(counts.get(key)).isEqualTo(value));
+		assertThat(counts.get(1_000_000L)).isZero();
+	}
+
+	@Test
+	void addAllSumsOverlappingKeys() {
+		LongIntHashMap left = new LongIntHashMap();
+		left.addTo(1, 2);
+		left.addTo(2, 3);
+		LongIntHashMap right = new LongIntHashMap();
+		right.addTo(2, 4);
+		right.addTo(3, 5);
+
+		left.addAll(right);
+
+		assertThat(left.size()).isEqualTo(3);
+		assertThat(left.get(1)).isEqualTo(2);
+		assertThat(left.get(2)).isEqualTo(7);
+		assertThat(left.get(3)).isEqualTo(5);
+	}
+
+	@Test
+	void rejectsReservedKey() {
+		assertThatThrownBy(() -> new LongIntHashMap().addTo(0, 1))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+}
@@ -0,0 +1,70 @@
+package com.eventmanager.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTests {
+
+	private final SingleFlight<Long, String> singleFlight = new SingleFlight<>();
+
+	@Test
+	void concurrentCallersShareOneLoad() throws Exception {
+		int callers = 8;
+		AtomicInteger loads = new AtomicInteger();
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(callers);
+		try {
+			List<Future<String>> results = new ArrayList<>();
+			for (int i = 0; i < callers; i++) {
+				results.add(pool.submit(() -> singleFlight.load(1L, () -> {
+					loads.incrementAndGet();
+					await(release);
+					return "event-1";
+				})));
+			}
+			// Let every caller either start the load or join it before it finishes
+			while (singleFlight.getExecutedCount() + singleFlight.getCoalescedCount() < callers) {
+				Thread.onSpinWait();
+			}
+			release.countDown();
+
+			for (Future<String> result : results) {
+				assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("event-1");
+			}
+			assertThat(loads.get()).isEqualTo(1);
+			assertThat(singleFlight.getCoalescedCount()).isEqualTo(callers - 1);
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@Test
+	void failureIsNotRemembered() {
+		assertThatThrownBy(() -> singleFlight.load(1L, () -> {
+			throw new RuntimeException("Event not found");
+		})).hasMessage("Event not found");
+
+		assertThat(singleFlight.load(1L, () -> "event-1")).isEqualTo("event-1");
+		assertThat(singleFlight.getExecutedCount()).isEqualTo(2);
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}